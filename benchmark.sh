@@ -0,0 +1,33 @@
+#! /bin/sh
+# Compares platform and virtual thread request handling on the UserController endpoints.
+# Requires a running postgres (see application-local.yml), a built jar and https://github.com/rakyll/hey
+# usage: ./benchmark.sh [concurrency] [duration]
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30s}
+PORT=8080
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+USER_ID=${USER_ID:-1}
+
+if [ -z "$JAR" ]; then
+  echo "no jar found in build/libs, run gradle build first"
+  exit 1
+fi
+
+run() {
+  MODE=$1
+  java -jar "$JAR" --server.port=$PORT --custom.thread.virtual=$MODE > "build/benchmark-$MODE.log" 2>&1 &
+  PID=$!
+  until curl -s -o /dev/null "http://localhost:$PORT/api/users/$USER_ID"; do sleep 1; done
+  # warm up
+  hey -z 10s -c 50 "http://localhost:$PORT/api/users/$USER_ID" > /dev/null
+  echo "=== virtual=$MODE GET /api/users/$USER_ID"
+  hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:$PORT/api/users/$USER_ID" | grep -E "Requests/sec|Average|99%|Status code|\[[0-9]+\]"
+  echo "=== virtual=$MODE GET /api/users?page=1&rpp=10"
+  hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:$PORT/api/users?page=1&rpp=10" | grep -E "Requests/sec|Average|99%|Status code|\[[0-9]+\]"
+  kill $PID
+  wait $PID 2>/dev/null
+}
+
+run false
+run true
@@ -0,0 +1,65 @@
+package com.sample.spring.concurrent;
+
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed key of the context holders. Every key is registered once, usually as a {@code static final}
+ * constant, and gets a fixed slot in the {@link RequestContext} array so reads are an index lookup
+ * without hashing or casting checks.
+ * <br/>
+ * The string-keyed holder API resolves registered names to the same slot.
+ */
+public final class ContextKey<T> {
+
+    private static final Map<String, ContextKey<?>> REGISTRY = new ConcurrentHashMap<>();
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    private final int index;
+
+    private ContextKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ContextKey<T> of(String name, Class<T> type) {
+        Assert.hasText(name, "Context key name is required");
+        Assert.notNull(type, "Context key type is required");
+        ContextKey<?> key = REGISTRY.computeIfAbsent(name, n -> new ContextKey<>(n, type, SLOTS.getAndIncrement()));
+        if (key.type != type)
+            throw new IllegalArgumentException(String.format("Context key %s is already registered as %s", name, key.type.getName()));
+        return (ContextKey<T>) key;
+    }
+
+    static ContextKey<?> lookup(String name) {
+        return REGISTRY.get(name);
+    }
+
+    static int size() {
+        return SLOTS.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    int index() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey[" + name + "]";
+    }
+}
@@ -0,0 +1,121 @@
+package com.sample.spring.concurrent;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable copy of the context holders and the locale of the submitting thread, taken when work is
+ * submitted and installed around its execution on another thread. The previous state of the
+ * executing thread is put back afterwards, so pooled threads never keep a stale context.
+ * <br/>
+ * The captured contexts are shared read-only, a task that writes to a holder gets a private copy.
+ */
+public final class ContextSnapshot {
+
+    private static final ContextSnapshot EMPTY = new ContextSnapshot(null, null, null);
+
+    private final RequestContext threadContext;
+    private final RequestContext inheritableContext;
+    private final LocaleContext localeContext;
+
+    private ContextSnapshot(RequestContext threadContext, RequestContext inheritableContext, LocaleContext localeContext) {
+        this.threadContext = threadContext;
+        this.inheritableContext = inheritableContext;
+        this.localeContext = localeContext;
+    }
+
+    public static ContextSnapshot capture() {
+        RequestContext threadContext = snapshot(ThreadContextHolder.current());
+        RequestContext inheritableContext = snapshot(InheritableContextHolder.current());
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        if (threadContext == null && inheritableContext == null && localeContext == null)
+            return EMPTY;
+        return new ContextSnapshot(threadContext, inheritableContext, localeContext);
+    }
+
+    /**
+     * Installs the snapshot on the current thread, closing the returned scope restores what was there before.
+     */
+    public Scope open() {
+        Scope scope = new Scope(ThreadContextHolder.current(), InheritableContextHolder.current(), LocaleContextHolder.getLocaleContext());
+        ThreadContextHolder.restore(threadContext);
+        InheritableContextHolder.restore(inheritableContext);
+        LocaleContextHolder.setLocaleContext(localeContext);
+        return scope;
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Scope scope = open();
+            try {
+                task.run();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            Scope scope = open();
+            try {
+                return task.call();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        return () -> {
+            Scope scope = open();
+            try {
+                return task.get();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * for {@code CompletableFuture} stages, which run on whatever thread completed the previous stage
+     */
+    public <T, R> Function<T, R> wrap(Function<T, R> function) {
+        return value -> {
+            Scope scope = open();
+            try {
+                return function.apply(value);
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    private static RequestContext snapshot(RequestContext context) {
+        return context == null || context.isEmpty() ? null : context.snapshot();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final RequestContext threadContext;
+        private final RequestContext inheritableContext;
+        private final LocaleContext localeContext;
+
+        private Scope(RequestContext threadContext, RequestContext inheritableContext, LocaleContext localeContext) {
+            this.threadContext = threadContext;
+            this.inheritableContext = inheritableContext;
+            this.localeContext = localeContext;
+        }
+
+        @Override
+        public void close() {
+            ThreadContextHolder.restore(threadContext);
+            InheritableContextHolder.restore(inheritableContext);
+            LocaleContextHolder.setLocaleContext(localeContext);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.sample.spring.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propagates the submitting thread's context to tasks of Spring managed executors, {@code @Async}
+ * methods and mvc async handlers.
+ */
+public class ContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ContextSnapshot.capture().wrap(runnable);
+    }
+}
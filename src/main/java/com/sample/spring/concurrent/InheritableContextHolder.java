@@ -7,18 +7,19 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
 import java.util.Date;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public final class InheritableContextHolder {
 
 
-    private static final InheritableThreadLocal<Map<String, Object>> THREAD_LOCAL = new InheritableThreadLocal() {
+    /**
+     * a child thread gets a copy of the parent context, later writes are not shared between them
+     */
+    private static final InheritableThreadLocal<RequestContext> THREAD_LOCAL = new InheritableThreadLocal<>() {
         @Override
-        protected Map<String, Object> initialValue() {
-            return new ConcurrentHashMap<>();
+        protected RequestContext childValue(RequestContext parent) {
+            return parent == null || parent.isEmpty() ? null : parent.snapshot();
         }
     };
 
@@ -30,11 +31,25 @@ public final class InheritableContextHolder {
             log.debug("Key {} or value {} is empty cannot put into inheritable thread local", key, value);
             return;
         }
-        THREAD_LOCAL.get().put(key, value);
+        context().put(key, value);
     }
 
     public static Object getObject(final String key) {
-        return THREAD_LOCAL.get().get(key);
+        RequestContext context = THREAD_LOCAL.get();
+        return context == null ? null : context.get(key);
+    }
+
+    public static <T> T get(final ContextKey<T> key) {
+        RequestContext context = THREAD_LOCAL.get();
+        return context == null ? null : context.get(key);
+    }
+
+    public static <T> void set(final ContextKey<T> key, final T value) {
+        context().put(key, value);
+    }
+
+    public static <T> T remove(final ContextKey<T> key) {
+        return THREAD_LOCAL.get() == null ? null : context().remove(key);
     }
 
     public static void clear() {
@@ -42,7 +57,7 @@ public final class InheritableContextHolder {
     }
 
     public static Object remove(final String key) {
-        return THREAD_LOCAL.get().remove(key);
+        return THREAD_LOCAL.get() == null ? null : context().remove(key);
     }
 
     public static <T> T getObject(final String key, final Class<T> _class) {
@@ -118,6 +133,27 @@ public final class InheritableContextHolder {
     }
 
     public static boolean containsKey(String key) {
-        return THREAD_LOCAL.get().containsKey(key);
+        RequestContext context = THREAD_LOCAL.get();
+        return context != null && context.containsKey(key);
+    }
+
+    static RequestContext current() {
+        return THREAD_LOCAL.get();
+    }
+
+    static void restore(RequestContext context) {
+        if (context == null)
+            THREAD_LOCAL.remove();
+        else
+            THREAD_LOCAL.set(context);
+    }
+
+    private static RequestContext context() {
+        RequestContext context = THREAD_LOCAL.get();
+        if (context == null || context.isShared()) {
+            context = context == null ? new RequestContext() : context.copy();
+            THREAD_LOCAL.set(context);
+        }
+        return context;
     }
 }
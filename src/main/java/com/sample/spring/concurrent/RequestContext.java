@@ -0,0 +1,197 @@
+package com.sample.spring.concurrent;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Backing store of the context holders. Values of a {@link ContextKey} live in a slot array indexed by
+ * the key, any other key goes to a small array map, a request usually carries a handful of entries so
+ * a linear scan over two arrays beats a hash map in both footprint and speed.
+ * <br/>
+ * Instances are confined to one thread and use no locks, so a virtual thread is never pinned
+ * while reading or writing its context.
+ */
+public final class RequestContext {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final Object[] NO_SLOTS = new Object[0];
+
+    private Object[] slots = NO_SLOTS;
+    private int slotCount;
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+    private boolean shared;
+
+    public RequestContext() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private RequestContext(int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ContextKey<T> key) {
+        int index = key.index();
+        return index < slots.length ? (T) slots[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T put(ContextKey<T> key, T value) {
+        checkWritable();
+        if (value == null)
+            return remove(key);
+        int index = key.index();
+        if (index >= slots.length)
+            slots = Arrays.copyOf(slots, Math.max(index + 1, ContextKey.size()));
+        Object previous = slots[index];
+        slots[index] = value;
+        if (previous == null) {
+            slotCount++;
+            removePlain(key.getName());
+        }
+        return (T) previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T remove(ContextKey<T> key) {
+        checkWritable();
+        int index = key.index();
+        if (index >= slots.length || slots[index] == null) {
+            removePlain(key.getName());
+            return null;
+        }
+        Object previous = slots[index];
+        slots[index] = null;
+        slotCount--;
+        return (T) previous;
+    }
+
+    /**
+     * String keys of a registered {@link ContextKey} share its slot, a value that is not of the key type
+     * is kept under the plain name instead.
+     */
+    public Object get(Object key) {
+        ContextKey<?> contextKey = slotKey(key);
+        if (contextKey != null) {
+            Object value = get(contextKey);
+            if (value != null || size == 0) return value;
+            key = contextKey.getName();
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public Object put(Object key, Object value) {
+        Objects.requireNonNull(key, "key");
+        checkWritable();
+        ContextKey<Object> contextKey = (ContextKey<Object>) slotKey(key);
+        Object previous = null;
+        if (contextKey != null) {
+            if (value == null || contextKey.getType().isInstance(value))
+                return put(contextKey, value);
+            previous = remove(key);
+            key = contextKey.getName();
+        }
+        if (value == null)
+            return remove(key);
+        int index = indexOf(key);
+        if (index >= 0) {
+            previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size++] = value;
+        return previous;
+    }
+
+    public Object remove(Object key) {
+        checkWritable();
+        ContextKey<?> contextKey = slotKey(key);
+        if (contextKey == null)
+            return removePlain(key);
+        Object plain = removePlain(contextKey.getName());
+        Object previous = remove(contextKey);
+        return previous != null ? previous : plain;
+    }
+
+    private Object removePlain(Object key) {
+        if (size == 0) return null;
+        int index = indexOf(key);
+        if (index < 0) return null;
+        Object previous = values[index];
+        int last = --size;
+        keys[index] = keys[last];
+        values[index] = values[last];
+        keys[last] = null;
+        values[last] = null;
+        return previous;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size + slotCount;
+    }
+
+    public boolean isEmpty() {
+        return size == 0 && slotCount == 0;
+    }
+
+    /**
+     * @return an immutable copy that can be installed on any number of threads, the holders replace
+     * it with a private copy on the first write
+     */
+    public RequestContext snapshot() {
+        if (shared) return this;
+        RequestContext snapshot = copy();
+        snapshot.shared = true;
+        return snapshot;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * @return an independent writable copy, used when a child thread inherits the context
+     */
+    public RequestContext copy() {
+        RequestContext copy = new RequestContext(Math.max(INITIAL_CAPACITY, size));
+        System.arraycopy(keys, 0, copy.keys, 0, size);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        copy.size = size;
+        copy.slots = slotCount == 0 ? NO_SLOTS : slots.clone();
+        copy.slotCount = slotCount;
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (shared)
+            throw new IllegalStateException("Shared request context snapshot is read only");
+    }
+
+    private static ContextKey<?> slotKey(Object key) {
+        if (key instanceof ContextKey) return (ContextKey<?>) key;
+        return key instanceof String ? ContextKey.lookup((String) key) : null;
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key || keys[i].equals(key))
+                return i;
+        }
+        return -1;
+    }
+}
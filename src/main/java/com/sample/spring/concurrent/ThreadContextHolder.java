@@ -7,19 +7,32 @@ import lombok.experimental.UtilityClass;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 @UtilityClass
 public class ThreadContextHolder {
 
-    private final ThreadLocal<ConcurrentHashMap<Object, Object>> bucket = InheritableThreadLocal.withInitial(ConcurrentHashMap::new);
+    private final ThreadLocal<RequestContext> bucket = new ThreadLocal<>();
 
     public void setObject(final String key, final Object value) {
-        bucket.get().put(key, value);
+        context().put(key, value);
     }
 
     public Object getObject(final String key) {
-        return bucket.get().get(key);
+        RequestContext context = bucket.get();
+        return context == null ? null : context.get(key);
+    }
+
+    public <T> T get(final ContextKey<T> key) {
+        RequestContext context = bucket.get();
+        return context == null ? null : context.get(key);
+    }
+
+    public <T> void set(final ContextKey<T> key, final T value) {
+        context().put(key, value);
+    }
+
+    public <T> T remove(final ContextKey<T> key) {
+        return bucket.get() == null ? null : context().remove(key);
     }
 
     @SuppressWarnings("unchecked")
@@ -38,7 +51,31 @@ public class ThreadContextHolder {
 
 
     public Object remove(final String key) {
-        return bucket.get().remove(key);
+        return bucket.get() == null ? null : context().remove(key);
+    }
+
+    RequestContext current() {
+        return bucket.get();
+    }
+
+    void restore(RequestContext context) {
+        if (context == null)
+            bucket.remove();
+        else
+            bucket.set(context);
+    }
+
+    /**
+     * the context is only allocated on the first write, threads that never write keep no state,
+     * a shared snapshot is replaced by a private copy before it is modified
+     */
+    private RequestContext context() {
+        RequestContext context = bucket.get();
+        if (context == null || context.isShared()) {
+            context = context == null ? new RequestContext() : context.copy();
+            bucket.set(context);
+        }
+        return context;
     }
 
     public <T> T getObject(final String key, final Class<T> _class) {
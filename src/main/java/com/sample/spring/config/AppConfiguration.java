@@ -3,14 +3,23 @@ package com.sample.spring.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.sample.spring.concurrent.ContextTaskDecorator;
 import com.sample.spring.jackson.I18NModule;
 import com.sample.spring.logging.LoggingInterceptor;
+import com.sample.spring.service.UserCache;
+import com.sample.spring.service.impl.GuavaUserCache;
 import com.sample.spring.service.impl.I18nServiceImpl;
+import com.sample.spring.service.impl.NoOpUserCache;
 import org.apache.commons.lang3.ObjectUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -20,6 +29,7 @@ import org.springframework.web.servlet.LocaleResolver;
 import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(UserProperties.class)
 public class AppConfiguration {
     @Bean
     public ObjectMapper mapper(I18nServiceImpl provider) {
@@ -35,17 +45,29 @@ public class AppConfiguration {
     }
 
     @Bean
-    public RestTemplate restTemplate(ObjectMapper objectMapper) {
+    public RestTemplate restTemplate(ObjectMapper objectMapper, ClientHttpRequestFactory clientHttpRequestFactory,
+                                     ObjectProvider<LoggingInterceptor> loggingInterceptor) {
         MappingJackson2HttpMessageConverter jackson2HttpMessageConverter = new MappingJackson2HttpMessageConverter();
         jackson2HttpMessageConverter.setObjectMapper(objectMapper);
-        RestTemplate restTemplate = new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory);
         restTemplate.getMessageConverters().removeIf(m -> m.getClass().equals(MappingJackson2HttpMessageConverter.class));
         restTemplate.getMessageConverters().add(jackson2HttpMessageConverter);
         List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
-        interceptors.add(new LoggingInterceptor());
+        interceptors.add(loggingInterceptor.getIfAvailable(LoggingInterceptor::new));
         return restTemplate;
     }
 
+    @Bean
+    @ConditionalOnMissingBean(UserCache.class)
+    public UserCache userCache(UserProperties prop) {
+        return prop.getCache().isEnable() ? new GuavaUserCache(prop.getCache()) : new NoOpUserCache();
+    }
+
+    @Bean
+    public TaskDecorator contextTaskDecorator() {
+        return new ContextTaskDecorator();
+    }
+
     @Bean
     public I18NModule i18NModule(I18nServiceImpl provider) {
         return new I18NModule(provider);
@@ -0,0 +1,62 @@
+package com.sample.spring.config;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled apache http client behind the {@code RestTemplate}, see {@link HttpClientProperties}.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfiguration {
+
+    @Bean
+    public HttpClientPoolMetrics httpClientPoolMetrics() {
+        return new HttpClientPoolMetrics();
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(HttpClientProperties prop, HttpClientPoolMetrics metrics) {
+        PoolingHttpClientConnectionManager manager = new HttpClientPoolMetrics.TimedConnectionManager(metrics);
+        manager.setMaxTotal(prop.getMaxTotal());
+        manager.setDefaultMaxPerRoute(prop.getMaxPerRoute());
+        manager.setValidateAfterInactivity(prop.getValidateAfterInactivity());
+        for (Map.Entry<String, Integer> route : prop.getRoutes().entrySet())
+            manager.setMaxPerRoute(new HttpRoute(HttpHost.create(route.getKey())), route.getValue());
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(HttpClientProperties prop, PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : prop.getKeepAlive();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(prop.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(HttpClientProperties prop, CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout(prop.getConnectTimeout());
+        factory.setReadTimeout(prop.getReadTimeout());
+        factory.setConnectionRequestTimeout(prop.getConnectionRequestTimeout());
+        return factory;
+    }
+}
@@ -0,0 +1,99 @@
+package com.sample.spring.config;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent by callers waiting to lease a connection from the pool, plus the live pool statistics.
+ */
+public class HttpClientPoolMetrics {
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    public long getLeaseCount() {
+        return leases.sum();
+    }
+
+    public long getLeaseTimeoutCount() {
+        return leaseTimeouts.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = leases.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / (double) count / 1_000_000;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000d;
+    }
+
+    public PoolStats getPoolStats() {
+        return connectionManager == null ? null : connectionManager.getTotalStats();
+    }
+
+    void record(long waitNanos, boolean timeout) {
+        if (timeout) {
+            leaseTimeouts.increment();
+            return;
+        }
+        leases.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("leases=%d, timeouts=%d, avgWait=%.3fms, maxWait=%.3fms, pool=%s",
+                getLeaseCount(), getLeaseTimeoutCount(), getAverageWaitMillis(), getMaxWaitMillis(), getPoolStats());
+    }
+
+    /**
+     * Pooling connection manager timing every lease.
+     */
+    static final class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final HttpClientPoolMetrics metrics;
+
+        TimedConnectionManager(HttpClientPoolMetrics metrics) {
+            this.metrics = metrics;
+            metrics.connectionManager = this;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        HttpClientConnection connection = request.get(timeout, unit);
+                        metrics.record(System.nanoTime() - start, false);
+                        return connection;
+                    } catch (ConnectionPoolTimeoutException e) {
+                        metrics.record(System.nanoTime() - start, true);
+                        throw e;
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+}
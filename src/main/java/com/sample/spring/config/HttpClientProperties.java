@@ -0,0 +1,98 @@
+package com.sample.spring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "custom.http-client")
+public class HttpClientProperties {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 50;
+    /**
+     * max connections per route, keyed by {@code host:port} or {@code scheme://host:port}
+     */
+    private Map<String, Integer> routes = new LinkedHashMap<>();
+    private int connectTimeout = 2000;
+    private int readTimeout = 10000;
+    private int connectionRequestTimeout = 1000;
+    /**
+     * keep-alive used when the server does not send a Keep-Alive header
+     */
+    private long keepAlive = 30000;
+    private long idleTimeout = 30000;
+    private int validateAfterInactivity = 2000;
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    public Map<String, Integer> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Integer> routes) {
+        this.routes = routes;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(int validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+}
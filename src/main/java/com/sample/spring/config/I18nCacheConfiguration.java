@@ -0,0 +1,48 @@
+package com.sample.spring.config;
+
+import com.sample.spring.service.impl.I18nServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Preloads the i18n table at startup and keeps the in-memory copy fresh, {@code custom.i18n.cache.enable=false}
+ * falls back to one query per translated property.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(I18nCacheProperties.class)
+@ConditionalOnProperty(prefix = "custom.i18n.cache", name = "enable", havingValue = "true", matchIfMissing = true)
+public class I18nCacheConfiguration implements ApplicationReadyListener {
+
+    private final I18nServiceImpl i18nService;
+    private final I18nCacheProperties prop;
+
+    public I18nCacheConfiguration(I18nServiceImpl i18nService, I18nCacheProperties prop) {
+        this.i18nService = i18nService;
+        this.prop = prop;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        try {
+            i18nService.reload();
+        } catch (RuntimeException e) {
+            log.warn("unable to preload i18n messages {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.i18n.cache.refresh-interval:30000}", initialDelayString = "${custom.i18n.cache.refresh-interval:30000}")
+    public void refresh() {
+        try {
+            i18nService.refresh(prop.getMaxAge());
+        } catch (RuntimeException e) {
+            log.warn("unable to refresh i18n messages {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sample.spring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "custom.i18n.cache")
+public class I18nCacheProperties {
+
+    private boolean enable = true;
+    /**
+     * delay in millis between two version probes
+     */
+    private long refreshInterval = 30000;
+    /**
+     * full reload after this many millis even when the version did not change, catches rows updated
+     * in place, 0 disables
+     */
+    private long maxAge = 600000;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public long getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+    }
+}
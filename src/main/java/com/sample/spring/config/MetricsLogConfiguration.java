@@ -0,0 +1,40 @@
+package com.sample.spring.config;
+
+import com.sample.spring.service.UserCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Logs the http client pool lease waits and the user cache statistics every {@code custom.metrics.log-interval} millis and once more on
+ * shutdown, the application has no meter registry to publish them to.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "custom.metrics", name = "enable", havingValue = "true", matchIfMissing = true)
+public class MetricsLogConfiguration implements DisposableBean {
+
+    private final ObjectProvider<HttpClientPoolMetrics> httpClientPoolMetrics;
+    private final ObjectProvider<UserCache> userCache;
+
+    public MetricsLogConfiguration(ObjectProvider<HttpClientPoolMetrics> httpClientPoolMetrics, ObjectProvider<UserCache> userCache) {
+        this.httpClientPoolMetrics = httpClientPoolMetrics;
+        this.userCache = userCache;
+    }
+
+    @Scheduled(fixedDelayString = "${custom.metrics.log-interval:60000}", initialDelayString = "${custom.metrics.log-interval:60000}")
+    public void report() {
+        httpClientPoolMetrics.ifAvailable(metrics -> log.info("http client pool {}", metrics));
+        userCache.ifAvailable(cache -> log.info("user cache {}", cache.stats()));
+    }
+
+    @Override
+    public void destroy() {
+        report();
+    }
+}
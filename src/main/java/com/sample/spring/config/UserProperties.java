@@ -0,0 +1,90 @@
+package com.sample.spring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "custom.user")
+public class UserProperties {
+
+    private final Batch batch = new Batch();
+    private final Cache cache = new Cache();
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Batch {
+        /**
+         * users persisted per transaction, a multiple of {@code hibernate.jdbc.batch_size}
+         */
+        private int chunkSize = 500;
+        /**
+         * the import stops at this many elements, a single rejected item marks where it stopped
+         */
+        private int maxItems = 10000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class Cache {
+        private boolean enable = true;
+        private long maximumSize = 10000;
+        /**
+         * millis a user stays cached after it was loaded
+         */
+        private long ttl = 300000;
+        /**
+         * millis an unknown id is remembered as not found, 0 disables the negative cache
+         */
+        private long negativeTtl = 30000;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(long ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(long negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+}
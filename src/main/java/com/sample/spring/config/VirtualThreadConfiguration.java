@@ -0,0 +1,60 @@
+package com.sample.spring.config;
+
+import com.sample.spring.concurrent.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@code custom.thread.virtual=true} serves Tomcat requests and mvc / {@code @Async} tasks on virtual threads.
+ * On a JVM without virtual threads nothing is overridden, Tomcat keeps its bounded {@code maxThreads} pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "custom.thread", name = "virtual", havingValue = "true")
+@Conditional(VirtualThreadConfiguration.OnVirtualThreadsCondition.class)
+public class VirtualThreadConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("virtual-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor, ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualThreadExecutor);
+        taskDecorator.ifAvailable(executor::setTaskDecorator);
+        return executor;
+    }
+
+    static class OnVirtualThreadsCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (VirtualThreads.isSupported())
+                return ConditionOutcome.match("virtual threads are available");
+            log.warn("custom.thread.virtual is ignored, virtual threads are not available on java {}", System.getProperty("java.version"));
+            return ConditionOutcome.noMatch("virtual threads are not available on java " + System.getProperty("java.version"));
+        }
+    }
+}
@@ -9,6 +9,8 @@ public enum BizErrorCode implements ErrorCodeType {
     E0002("E0002", "Record not found."),
     E0003("E0003", "Valid field validation."),
     E0004("E0004", "Rest client error occurred."),
+    E0005("E0005", "Invalid paging cursor."),
+    E0006("E0006", "Batch payload must be a JSON array."),
     ;
 
     final String value;
@@ -0,0 +1,50 @@
+package com.sample.spring.dto;
+
+import java.util.Objects;
+
+/**
+ * Lookup key of a translated message: (key, type, locale).
+ */
+public final class I18nKey {
+    private final String key;
+    private final String type;
+    private final String locale;
+    private final int hash;
+
+    public I18nKey(String key, String type, String locale) {
+        this.key = key;
+        this.type = type;
+        this.locale = locale;
+        this.hash = Objects.hash(key, type, locale);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof I18nKey)) return false;
+        I18nKey other = (I18nKey) o;
+        return hash == other.hash && Objects.equals(key, other.key) && Objects.equals(type, other.type) && Objects.equals(locale, other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return key + ":" + type + ":" + locale;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sample.spring.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import, one item per element of the submitted array in the same order.
+ */
+@Setter
+@Getter
+public class UserBatchResultDto {
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<Item> items = new ArrayList<>();
+
+    public Item add(int index, String username) {
+        Item item = new Item();
+        item.setIndex(index);
+        item.setUsername(username);
+        items.add(item);
+        return item;
+    }
+
+    public void summarize() {
+        total = items.size();
+        created = (int) items.stream().filter(item -> CREATED.equals(item.getStatus())).count();
+        failed = total - created;
+    }
+
+    @Setter
+    @Getter
+    public static class Item {
+        private int index;
+        private String id;
+        private String username;
+        private String status;
+        private List<String> errors;
+
+        public void created(String id) {
+            this.id = id;
+            this.status = CREATED;
+        }
+
+        public void failed(String status, List<String> errors) {
+            this.status = status;
+            this.errors = errors;
+        }
+
+        public void failed(String status, String error) {
+            failed(status, Collections.singletonList(error));
+        }
+    }
+}
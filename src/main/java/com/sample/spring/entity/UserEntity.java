@@ -14,8 +14,12 @@ import java.util.Date;
 @FieldNameConstants
 public class UserEntity {
     public static final String TABLE_NAME = "users";
+    /**
+     * the database sequence must step by the allocation size, see {@code db/users_id_seq_increment.sql}
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
     private String gender;
     private String username;
@@ -0,0 +1,117 @@
+package com.sample.spring.jackson;
+
+import com.sample.spring.dto.I18nKey;
+import com.sample.spring.jackson.annotation.I18NProperty;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Walks a response graph (beans, collections, maps, arrays) and collects the key of every
+ * {@link I18NProperty} value it will serialize. Fields are inspected once per class.
+ */
+final class I18NKeyCollector {
+    private static final int MAX_DEPTH = 8;
+    private static final ClassValue<BeanMeta> META = new ClassValue<BeanMeta>() {
+        @Override
+        protected BeanMeta computeValue(Class<?> type) {
+            return BeanMeta.of(type);
+        }
+    };
+
+    private final Set<I18nKey> keys = new HashSet<>();
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private I18NKeyCollector() {
+    }
+
+    static Set<I18nKey> collect(Object root) throws Throwable {
+        I18NKeyCollector collector = new I18NKeyCollector();
+        collector.visit(root, 0);
+        return collector.keys;
+    }
+
+    private void visit(Object value, int depth) throws Throwable {
+        if (value == null || depth > MAX_DEPTH) return;
+        if (value instanceof Iterable) {
+            for (Object item : (Iterable<?>) value)
+                visit(item, depth + 1);
+        } else if (value instanceof Map) {
+            for (Object item : ((Map<?, ?>) value).values())
+                visit(item, depth + 1);
+        } else if (value instanceof Object[]) {
+            for (Object item : (Object[]) value)
+                visit(item, depth + 1);
+        } else if (value instanceof Optional) {
+            visit(((Optional<?>) value).orElse(null), depth + 1);
+        } else {
+            BeanMeta meta = META.get(value.getClass());
+            if (meta.isEmpty() || !visited.add(value)) return;
+            for (I18NPropertyAccessor property : meta.properties)
+                keys.add(property.key(value));
+            for (MethodHandle nested : meta.nested)
+                visit(nested.invokeExact(value), depth + 1);
+        }
+    }
+
+    private static final class BeanMeta {
+        private static final BeanMeta EMPTY = new BeanMeta(Collections.emptyList(), Collections.emptyList());
+
+        private final List<I18NPropertyAccessor> properties;
+        private final List<MethodHandle> nested;
+
+        private BeanMeta(List<I18NPropertyAccessor> properties, List<MethodHandle> nested) {
+            this.properties = properties;
+            this.nested = nested;
+        }
+
+        static BeanMeta of(Class<?> type) {
+            if (isLeaf(type) || isPlatform(type)) return EMPTY;
+            List<I18NPropertyAccessor> properties = new ArrayList<>();
+            List<MethodHandle> nested = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                    I18NProperty annotation = field.getAnnotation(I18NProperty.class);
+                    if (annotation != null) {
+                        I18NPropertyAccessor property = new I18NPropertyAccessor(type, field.getName(), annotation);
+                        if (property.isResolvable()) properties.add(property);
+                    } else if (!isLeaf(field.getType())) {
+                        MethodHandle handle = I18NPropertyAccessor.accessor(type, field.getName());
+                        if (handle != null) nested.add(handle);
+                    }
+                }
+            }
+            return properties.isEmpty() && nested.isEmpty() ? EMPTY : new BeanMeta(properties, nested);
+        }
+
+        boolean isEmpty() {
+            return this == EMPTY;
+        }
+
+        private static boolean isLeaf(Class<?> type) {
+            return ClassUtils.isPrimitiveOrWrapper(type) || type.isEnum() || CharSequence.class.isAssignableFrom(type)
+                    || Number.class.isAssignableFrom(type) || Date.class.isAssignableFrom(type)
+                    || TemporalAccessor.class.isAssignableFrom(type) || type == UUID.class || type == Class.class
+                    || type.isArray() && type.getComponentType().isPrimitive();
+        }
+
+        private static boolean isPlatform(Class<?> type) {
+            String name = type.getName();
+            return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("org.springframework.");
+        }
+    }
+}
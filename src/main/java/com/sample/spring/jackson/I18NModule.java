@@ -13,20 +13,25 @@ import java.util.List;
 
 public class I18NModule extends SimpleModule {
     private static final long serialVersionUID = 8750960660810211977L;
-    private final I18NSerializer i18NSerializer;
+    private final transient I18NProvider provider;
     public I18NModule(I18NProvider provider) {
         Assert.notNull(provider, "I18N provider must not be null");
-        this.i18NSerializer = new I18NSerializer(provider);
+        this.provider = provider;
     }
     @Override
     public void setupModule(SetupContext context) {
         context.addBeanSerializerModifier(new BeanSerializerModifier() {
+            /**
+             * runs once per bean class, each annotated property gets its own serializer
+             */
             @Override
             public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
                 for (BeanPropertyWriter writer : beanProperties) {
-                    if (ObjectUtils.isNotEmpty(writer.getAnnotation(I18NProperty.class))) {
-                        writer.assignSerializer(i18NSerializer);
-                        writer.assignNullSerializer(i18NSerializer);
+                    I18NProperty annotation = writer.getAnnotation(I18NProperty.class);
+                    if (ObjectUtils.isNotEmpty(annotation)) {
+                        I18NSerializer serializer = new I18NSerializer(provider, beanDesc.getBeanClass(), writer.getMember().getName(), annotation);
+                        writer.assignSerializer(serializer);
+                        writer.assignNullSerializer(serializer);
                     }
                 }
                 return beanProperties;
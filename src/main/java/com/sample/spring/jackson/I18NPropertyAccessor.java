@@ -0,0 +1,80 @@
+package com.sample.spring.jackson;
+
+import com.sample.spring.dto.I18nKey;
+import com.sample.spring.jackson.annotation.I18NProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * {@link I18NProperty} of one bean property resolved once: translation type, fixed locale and an
+ * accessor of the {@code fieldId} property.
+ */
+@Slf4j
+final class I18NPropertyAccessor {
+    private final String property;
+    private final String type;
+    private final String locale;
+    private final MethodHandle keyAccessor;
+
+    I18NPropertyAccessor(Class<?> beanClass, String property, I18NProperty annotation) {
+        this.property = beanClass.getName() + "." + property;
+        this.type = annotation.type();
+        this.locale = StringUtils.isNotEmpty(annotation.locale()) ? annotation.locale().toLowerCase(Locale.ROOT) : null;
+        this.keyAccessor = accessor(beanClass, annotation.fieldId());
+        if (this.keyAccessor == null)
+            log.warn("I18N property {} refers to unknown field {}", this.property, annotation.fieldId());
+    }
+
+    String getProperty() {
+        return property;
+    }
+
+    boolean isResolvable() {
+        return keyAccessor != null;
+    }
+
+    /**
+     * key of the translation for {@code bean}, the locale of the current request unless fixed by the annotation
+     */
+    I18nKey key(Object bean) throws Throwable {
+        Object key = keyAccessor.invokeExact(bean);
+        String language = locale != null ? locale : LocaleContextHolder.getLocale().getLanguage().toLowerCase(Locale.ROOT);
+        return new I18nKey(key == null ? null : key.toString(), type, language);
+    }
+
+    /**
+     * getter of the property when there is one, the field otherwise, adapted to {@code (Object)Object}
+     */
+    static MethodHandle accessor(Class<?> beanClass, String name) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle;
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(beanClass, name);
+            Method getter = descriptor != null ? descriptor.getReadMethod() : null;
+            if (getter != null) {
+                ReflectionUtils.makeAccessible(getter);
+                handle = lookup.unreflect(getter);
+            } else {
+                Field field = ReflectionUtils.findField(beanClass, name);
+                if (field == null) return null;
+                ReflectionUtils.makeAccessible(field);
+                handle = lookup.unreflectGetter(field);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("unable to access {}.{} {}", beanClass.getName(), name, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,5 +1,28 @@
 package com.sample.spring.jackson;
 
+import com.sample.spring.dto.I18nKey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 public interface I18NProvider {
     String getMessage(String key, String type, String locale, String defaultMessage);
+
+    /**
+     * messages of all {@code keys} at once, keys without a translation are mapped to {@code null}
+     */
+    default Map<I18nKey, String> getMessages(Collection<I18nKey> keys) {
+        Map<I18nKey, String> messages = new HashMap<>();
+        for (I18nKey key : keys)
+            messages.put(key, getMessage(key.getKey(), key.getType(), key.getLocale(), null));
+        return messages;
+    }
+
+    /**
+     * true when {@link #getMessage} is served from memory and batching lookups is pointless
+     */
+    default boolean isPreloaded() {
+        return false;
+    }
 }
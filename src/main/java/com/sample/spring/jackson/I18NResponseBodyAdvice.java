@@ -0,0 +1,63 @@
+package com.sample.spring.jackson;
+
+import com.sample.spring.dto.I18nKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves every {@code @I18NProperty} of a response body with a single lookup before it is written,
+ * so a page of items costs one query instead of one per translated field. Skipped when the provider
+ * already serves messages from memory.
+ */
+@Slf4j
+@RestControllerAdvice
+public class I18NResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    private static final String RESOLVED_ATTRIBUTE = I18NResponseBodyAdvice.class.getName() + ".RESOLVED";
+    private final I18NProvider provider;
+
+    public I18NResponseBodyAdvice(I18NProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * messages resolved for the body of the current request, null outside of a request
+     */
+    @SuppressWarnings("unchecked")
+    static Map<I18nKey, String> resolved() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (Map<I18nKey, String>) attributes.getAttribute(RESOLVED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (body == null || attributes == null || provider.isPreloaded())
+            return body;
+        try {
+            Set<I18nKey> keys = I18NKeyCollector.collect(body);
+            if (!keys.isEmpty())
+                attributes.setAttribute(RESOLVED_ATTRIBUTE, provider.getMessages(keys), RequestAttributes.SCOPE_REQUEST);
+        } catch (Throwable e) {
+            log.warn("unable to resolve I18N properties of {} {}", body.getClass().getName(), e.getMessage());
+        }
+        return body;
+    }
+}
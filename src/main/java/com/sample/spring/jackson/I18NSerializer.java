@@ -1,31 +1,33 @@
 package com.sample.spring.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sample.spring.dto.I18nKey;
 import com.sample.spring.jackson.annotation.I18NProperty;
-import com.sample.spring.util.ContextUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.context.i18n.LocaleContextHolder;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.util.Map;
 
+/**
+ * Serializer of one {@link I18NProperty} bean property, built once by {@link I18NModule} with the
+ * annotation values and an accessor of the {@code fieldId} property already resolved.
+ * <br/>
+ * Messages resolved up front by {@link I18NResponseBodyAdvice} are used before asking the provider.
+ */
 @Slf4j
 public class I18NSerializer extends StdSerializer<Object> {
     private static final long serialVersionUID = -2391442805192997903L;
-    private final I18NProvider provider;
+    private final transient I18NProvider provider;
+    private final transient I18NPropertyAccessor accessor;
 
-    public I18NSerializer(I18NProvider provider) {
+    public I18NSerializer(I18NProvider provider, Class<?> beanClass, String property, I18NProperty annotation) {
         super(Object.class);
         this.provider = provider;
+        this.accessor = new I18NPropertyAccessor(beanClass, property, annotation);
     }
 
     @Override
@@ -47,35 +49,20 @@ public class I18NSerializer extends StdSerializer<Object> {
     }
 
     private String getI18NProperty(Object value, JsonGenerator gen) {
+        String defaultMessage = String.valueOf(value);
+        if (!accessor.isResolvable())
+            return defaultMessage;
         try {
-            String fieldName = gen.getOutputContext().getCurrentName();
-            Optional<ObjectMapper> bean = ContextUtil.optBean(ObjectMapper.class);
-            if (bean.isPresent()) {
-                PropertyNamingStrategy namingStrategy = bean.get().getPropertyNamingStrategy();
-                if (ObjectUtils.isNotEmpty(namingStrategy) && PropertyNamingStrategies.SNAKE_CASE.getClass().equals(namingStrategy.getClass()))
-                    fieldName = this.snakeCaseToCamelCase(fieldName);
+            I18nKey key = accessor.key(gen.getCurrentValue());
+            Map<I18nKey, String> resolved = I18NResponseBodyAdvice.resolved();
+            if (resolved != null && resolved.containsKey(key)) {
+                String message = resolved.get(key);
+                return message != null ? message : defaultMessage;
             }
-            Object obj = gen.getCurrentValue();
-            I18NProperty annotation = obj.getClass().getDeclaredField(fieldName).getAnnotation(I18NProperty.class);
-            String locale = annotation.locale();
-            locale = StringUtils.isNotEmpty(locale) ? locale : LocaleContextHolder.getLocale().getLanguage();
-            String key = (String) PropertyUtils.getProperty(obj, annotation.fieldId());
-            return this.provider.getMessage(key, annotation.type(), locale.toLowerCase(), String.valueOf(value));
-        } catch (Exception e) {
-            log.warn("exception occurred while serializer I18N property {} of class {} {}", gen.getOutputContext().getCurrentName(), gen.getCurrentValue().getClass().getName(), e.getMessage());
-            return String.valueOf(value);
+            return this.provider.getMessage(key.getKey(), key.getType(), key.getLocale(), defaultMessage);
+        } catch (Throwable e) {
+            log.warn("exception occurred while serializer I18N property {} {}", accessor.getProperty(), e.getMessage());
+            return defaultMessage;
         }
     }
-
-    private String snakeCaseToCamelCase(String string) {
-        if (ObjectUtils.isEmpty(string)) return string;
-        StringBuilder sb = new StringBuilder(string);
-        for (int i = 0; i < sb.length(); i++) {
-            if (sb.charAt(i) == '_') {
-                sb.deleteCharAt(i);
-                sb.replace(i, i + 1, String.valueOf(Character.toUpperCase(sb.charAt(i))));
-            }
-        }
-        return sb.toString();
-    }
-}
\ No newline at end of file
+}
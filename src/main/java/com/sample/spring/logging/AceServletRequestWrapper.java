@@ -2,9 +2,9 @@ package com.sample.spring.logging;
 
 import com.sample.spring.util.StringUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.MediaType;
+import org.springframework.util.FastByteArrayOutputStream;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
@@ -13,19 +13,38 @@ import org.springframework.web.servlet.HandlerMapping;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Slf4j
 public class AceServletRequestWrapper extends HttpServletRequestWrapper {
 
-    private ByteArrayOutputStream cachedBytes;
+    /**
+     * upper bound for the buffer pre-sized from Content-Length, the header is client controlled
+     */
+    static final int MAX_INITIAL_BUFFER = 64 * 1024;
+
+    private final BodyCaptureMode captureMode;
+    private final int maxCapture;
+    private byte[] cachedBytes;
+    private byte[] captured;
+    private int capturedLength;
+    private ReplayServletInputStream replayStream;
     private Map<String, String> headers;
     private Map<String, String[]> parameters;
 
     public AceServletRequestWrapper(HttpServletRequest request) {
+        this(request, BodyCaptureMode.FULL, Integer.MAX_VALUE);
+    }
+
+    public AceServletRequestWrapper(HttpServletRequest request, BodyCaptureMode captureMode, int maxCapture) {
         super(request);
+        this.captureMode = captureMode == null ? BodyCaptureMode.FULL : captureMode;
+        this.maxCapture = Math.max(0, maxCapture);
         this.parameters = new HashMap<>();
         this.headers = new HashMap<>();
     }
@@ -37,11 +56,19 @@ public class AceServletRequestWrapper extends HttpServletRequestWrapper {
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        if (captureMode == BodyCaptureMode.NONE)
+            return super.getInputStream();
+        if (captureMode == BodyCaptureMode.BOUNDED) {
+            capture();
+            return replayStream;
+        }
         if (cachedBytes == null) {
-            cachedBytes = new ByteArrayOutputStream();
-            StreamUtils.copy(super.getInputStream(), cachedBytes);
+            long length = getContentLengthLong();
+            FastByteArrayOutputStream content = new FastByteArrayOutputStream(length > 0 ? (int) Math.min(length, MAX_INITIAL_BUFFER) : 1024);
+            StreamUtils.copy(super.getInputStream(), content);
+            cachedBytes = content.toByteArrayUnsafe();
         }
-        return new CacheServletInputStream(new ByteArrayInputStream(cachedBytes.toByteArray()));
+        return new CacheServletInputStream(ByteBuffer.wrap(cachedBytes));
     }
 
     @Override
@@ -98,13 +125,54 @@ public class AceServletRequestWrapper extends HttpServletRequestWrapper {
     }
 
     public String getContent() {
+        return new String(getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * In {@link BodyCaptureMode#BOUNDED} mode only the first {@code maxCapture} bytes are returned,
+     * in {@link BodyCaptureMode#FULL} mode the shared cache is returned and must not be modified.
+     */
+    public byte[] getContentAsByteArray() {
         try {
-            if (!MediaType.MULTIPART_FORM_DATA_VALUE.equalsIgnoreCase(getContentType()))
-                return IOUtils.toString(getInputStream(), StandardCharsets.UTF_8);
+            if (captureMode != BodyCaptureMode.NONE && !MediaType.MULTIPART_FORM_DATA_VALUE.equalsIgnoreCase(getContentType())) {
+                if (captureMode == BodyCaptureMode.BOUNDED) {
+                    capture();
+                    return Arrays.copyOf(captured, Math.min(capturedLength, maxCapture));
+                }
+                getInputStream();
+                return cachedBytes;
+            }
         } catch (Exception e) {
             log.warn("exception occurred while read request body {}", e.getMessage());
         }
-        return "";
+        return new byte[0];
+    }
+
+    public boolean isContentTruncated() {
+        return captureMode == BodyCaptureMode.BOUNDED && captured != null && capturedLength > maxCapture
+                && !MediaType.MULTIPART_FORM_DATA_VALUE.equalsIgnoreCase(getContentType());
+    }
+
+    /**
+     * Total body length, taken from the Content-Length header or counted while the body is streamed.
+     */
+    public long getContentSize() {
+        if (captureMode == BodyCaptureMode.FULL)
+            return cachedBytes == null ? 0 : cachedBytes.length;
+        if (captureMode == BodyCaptureMode.NONE)
+            return Math.max(getContentLengthLong(), 0);
+        long counted = replayStream == null ? 0 : Math.max(replayStream.getCount(), capturedLength);
+        return Math.max(getContentLengthLong(), counted);
+    }
+
+    private void capture() throws IOException {
+        if (replayStream != null) return;
+        ServletInputStream original = super.getInputStream();
+        captured = new byte[Math.min(maxCapture, Integer.MAX_VALUE - 9) + 1];
+        int read;
+        while (capturedLength < captured.length && (read = original.read(captured, capturedLength, captured.length - capturedLength)) != -1)
+            capturedLength += read;
+        replayStream = new ReplayServletInputStream(captured, capturedLength, original);
     }
 
     public String getQueryParam() {
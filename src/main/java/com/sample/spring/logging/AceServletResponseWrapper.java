@@ -14,18 +14,25 @@ import java.nio.charset.StandardCharsets;
 
 public class AceServletResponseWrapper extends HttpServletResponseWrapper {
 
-    private ServletOutputStream cachedServlet;
+    private CacheServletOutputStream cachedServlet;
     private PrintWriter printWriter;
-    private final FastByteArrayOutputStream content = new FastByteArrayOutputStream(1024);
+    private final FastByteArrayOutputStream content;
+    private final int maxCapture;
 
     public AceServletResponseWrapper(HttpServletResponse response) {
+        this(response, Integer.MAX_VALUE);
+    }
+
+    public AceServletResponseWrapper(HttpServletResponse response, int maxCapture) {
         super(response);
+        this.maxCapture = Math.max(0, maxCapture);
+        this.content = new FastByteArrayOutputStream(Math.max(1, Math.min(1024, this.maxCapture)));
     }
 
     @Override
     public ServletOutputStream getOutputStream() throws IOException {
         if (cachedServlet == null)
-            cachedServlet = new CacheServletOutputStream(getResponse().getOutputStream(), content);
+            cachedServlet = new CacheServletOutputStream(getResponse().getOutputStream(), content, maxCapture);
         return cachedServlet;
     }
 
@@ -37,46 +44,48 @@ public class AceServletResponseWrapper extends HttpServletResponseWrapper {
     }
 
     @Override
-    public void setContentLength(int len) {
-        if (len > this.content.size())
-            this.content.resize(len);
+    public void resetBuffer() {
+        super.resetBuffer();
+        resetContent();
     }
 
     @Override
-    public void setContentLengthLong(long len) {
-        if (len > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException("Content-Length exceeds ContentCachingResponseWrapper's maximum (" +
-                    Integer.MAX_VALUE + "): " + len);
-        }
-        int lenInt = (int) len;
-        if (lenInt > content.size())
-            content.resize(lenInt);
+    public void reset() {
+        super.reset();
+        resetContent();
     }
 
-    @Override
-    public void setBufferSize(int size) {
-        if (size > content.size())
-            content.resize(size);
+    /**
+     * Total number of bytes written to the response, including those past {@code maxCapture}.
+     */
+    public long getContentSize() {
+        return cachedServlet == null ? 0 : cachedServlet.getCount();
     }
 
-    @Override
-    public void resetBuffer() {
-        content.reset();
+    public boolean isContentTruncated() {
+        return isJsonBody() && getContentSize() > maxCapture;
     }
 
-    @Override
-    public void reset() {
-        super.reset();
+    private void resetContent() {
         content.reset();
+        if (cachedServlet != null)
+            cachedServlet.resetCount();
     }
 
     public String getContent() {
+        return isJsonBody() ? IOUtils.toString(content.toByteArray(), StandardCharsets.UTF_8.name()) : "";
+    }
+
+    public byte[] getContentAsByteArray() {
+        return isJsonBody() ? content.toByteArray() : new byte[0];
+    }
+
+    private boolean isJsonBody() {
         String contentType = getContentType();
-        boolean isJsonBody = StringUtils.isNotEmpty(contentType)
+        return StringUtils.isNotEmpty(contentType)
                 && (contentType.equalsIgnoreCase(MediaType.APPLICATION_JSON_VALUE)
                 || contentType.equalsIgnoreCase(MediaType.APPLICATION_JSON_UTF8_VALUE)
                 || contentType.startsWith(LoggingProperties.ACTUATOR_MEDIA_TYPE_V1_JSON)
                 || contentType.startsWith(LoggingProperties.ACTUATOR_MEDIA_TYPE_V2_JSON));
-        return isJsonBody ? IOUtils.toString(content.toByteArray(), StandardCharsets.UTF_8.name()) : "";
     }
 }
\ No newline at end of file
@@ -2,8 +2,15 @@ package com.sample.spring.logging;
 
 import com.sample.spring.util.ContextUtil;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -11,10 +18,13 @@ import java.util.stream.Collectors;
 
 public class AntPathMatchUrl {
 
+    private static final String IGNORED_ATTRIBUTE = AntPathMatchUrl.class.getName() + ".IGNORED";
+
     private Set<String> setAntPathMatching = new HashSet<>();
     private boolean ignoreRequest = false;
     private boolean ignoreResponse = false;
     private String contextPath;
+    private volatile CompiledPatterns compiled = CompiledPatterns.EMPTY;
 
     public static final String[] DEFAULT_EXCLUDE_ANT_PATH_MATCH = {
             "/swagger-ui.html", "/v2/api-docs/**", "/swagger/**",
@@ -29,17 +39,21 @@ public class AntPathMatchUrl {
     };
 
     public AntPathMatchUrl() {
-        addMatching(DEFAULT_EXCLUDE_ANT_PATH_MATCH);
         contextPath = ContextUtil.getProperty("server.servlet.context-path");
+        addMatching(DEFAULT_EXCLUDE_ANT_PATH_MATCH);
     }
 
     public Set<String> getPatternMatching() {
-        return setAntPathMatching;
+        return Collections.unmodifiableSet(setAntPathMatching);
     }
 
-    void addMatching(List<String> matches) {
+    synchronized void addMatching(List<String> matches) {
         List<String> list = matches.stream().filter(StringUtils::isNotEmpty).collect(Collectors.toList());
-        if (!list.isEmpty()) setAntPathMatching.addAll(matches);
+        if (list.isEmpty()) return;
+        Set<String> patterns = new HashSet<>(setAntPathMatching);
+        patterns.addAll(list);
+        setAntPathMatching = patterns;
+        compiled = new CompiledPatterns(patterns, contextPath);
     }
 
     public void addMatching(String... matches) {
@@ -55,22 +69,91 @@ public class AntPathMatchUrl {
     }
 
     public boolean isIgnoreRequest(String endPoint) {
-        boolean match = isIgnoreMatching(endPoint);
-        return ignoreRequest || match;
+        return ignoreRequest || isIgnoreMatching(endPoint);
     }
 
     public boolean isIgnoreResponse(String endPoint) {
-        boolean match = isIgnoreMatching(endPoint);
-        return ignoreResponse || match;
+        return ignoreResponse || isIgnoreMatching(endPoint);
+    }
+
+    public boolean isIgnoreRequest(HttpServletRequest request) {
+        return ignoreRequest || isIgnoreMatching(request);
+    }
+
+    public boolean isIgnoreResponse(HttpServletRequest request) {
+        return ignoreResponse || isIgnoreMatching(request);
+    }
+
+    /**
+     * Matches the request URI once and keeps the decision as a request attribute.
+     */
+    public boolean isIgnoreMatching(HttpServletRequest request) {
+        Object decision = request.getAttribute(IGNORED_ATTRIBUTE);
+        if (decision instanceof Boolean)
+            return (Boolean) decision;
+        boolean ignored = isIgnoreMatching(request.getRequestURI());
+        request.setAttribute(IGNORED_ATTRIBUTE, ignored);
+        return ignored;
     }
 
-    private boolean isIgnoreMatching(String endpoint) {
-        if (setAntPathMatching.isEmpty()) return false;
-        for (String pattern : setAntPathMatching) {
-            String path = StringUtils.isEmpty(contextPath) ? pattern : contextPath + pattern;
-            if (LoggingProperties.ANT_PATH_MATCHER.match(path, endpoint))
-                return true;
+    /**
+     * Not cached per path, the request URI is client controlled and the compiled patterns are cheap to match.
+     */
+    public boolean isIgnoreMatching(String endpoint) {
+        CompiledPatterns patterns = compiled;
+        return endpoint != null && !patterns.isEmpty() && patterns.matches(endpoint);
+    }
+
+    /**
+     * Patterns prefixed with the context path once: exact paths, {@code /prefix/**} patterns and
+     * whatever is left as parsed {@link PathPattern}, or ant patterns when the parser rejects them.
+     */
+    private static final class CompiledPatterns {
+
+        private static final CompiledPatterns EMPTY = new CompiledPatterns(Collections.emptySet(), null);
+
+        private final Set<String> exact = new HashSet<>();
+        private final List<String> prefixes = new ArrayList<>();
+        private final List<PathPattern> pathPatterns = new ArrayList<>();
+        private final List<String> antPatterns = new ArrayList<>();
+
+        CompiledPatterns(Set<String> patterns, String contextPath) {
+            for (String pattern : patterns) {
+                String path = StringUtils.isEmpty(contextPath) ? pattern : contextPath + pattern;
+                if (!LoggingProperties.ANT_PATH_MATCHER.isPattern(path)) {
+                    exact.add(path);
+                } else if (path.endsWith("/**") && !LoggingProperties.ANT_PATH_MATCHER.isPattern(path.substring(0, path.length() - 3))) {
+                    prefixes.add(path.substring(0, path.length() - 3));
+                } else {
+                    try {
+                        pathPatterns.add(PathPatternParser.defaultInstance.parse(path));
+                    } catch (PatternParseException e) {
+                        antPatterns.add(path);
+                    }
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return exact.isEmpty() && prefixes.isEmpty() && pathPatterns.isEmpty() && antPatterns.isEmpty();
+        }
+
+        boolean matches(String endpoint) {
+            if (exact.contains(endpoint)) return true;
+            for (String prefix : prefixes) {
+                if (endpoint.startsWith(prefix) && (endpoint.length() == prefix.length() || endpoint.charAt(prefix.length()) == '/'))
+                    return true;
+            }
+            if (!pathPatterns.isEmpty()) {
+                PathContainer container = PathContainer.parsePath(endpoint);
+                for (PathPattern pattern : pathPatterns) {
+                    if (pattern.matches(container)) return true;
+                }
+            }
+            for (String pattern : antPatterns) {
+                if (LoggingProperties.ANT_PATH_MATCHER.match(pattern, endpoint)) return true;
+            }
+            return false;
         }
-        return false;
     }
 }
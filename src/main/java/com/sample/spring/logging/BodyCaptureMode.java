@@ -0,0 +1,17 @@
+package com.sample.spring.logging;
+
+public enum BodyCaptureMode {
+    /**
+     * cache the whole body, every {@code getInputStream()} call replays it from the start
+     */
+    FULL,
+    /**
+     * keep only the first {@code maxRequest} bytes for logging and stream the rest straight through,
+     * opt-in: like an unwrapped request the body can be consumed only once, later reads see the stream where the first left off
+     */
+    BOUNDED,
+    /**
+     * do not touch the body, the original stream is handed out as is
+     */
+    NONE
+}
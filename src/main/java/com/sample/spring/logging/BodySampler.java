@@ -0,0 +1,114 @@
+package com.sample.spring.logging;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides per request, before anything is buffered, whether the bodies are logged.
+ * <br/>
+ * Rules are matched by method and ant pattern in declaration order, the first match wins and
+ * requests matching no rule fall back to the top level rate / budget.
+ */
+public class BodySampler {
+
+    public enum Decision {
+        /**
+         * capture and log the bodies
+         */
+        SAMPLED,
+        /**
+         * capture a bounded prefix and log it only when the response turns out to be an error or slow
+         */
+        DEFERRED,
+        /**
+         * do not capture the bodies at all
+         */
+        SKIPPED
+    }
+
+    private final List<Policy> policies = new ArrayList<>();
+    private final Policy fallback;
+    private final int errorStatus;
+    private final long slowThreshold;
+
+    public BodySampler(LoggingProperties.Sampling sampling) {
+        this.fallback = new Policy(null, null, sampling.getRate(), sampling.getPerSecond());
+        this.errorStatus = sampling.getErrorStatus();
+        this.slowThreshold = sampling.getSlowThreshold();
+        for (LoggingProperties.SamplingRule rule : sampling.getRules()) {
+            if (StringUtils.isEmpty(rule.getPattern())) continue;
+            String method = StringUtils.isEmpty(rule.getMethod()) || "*".equals(rule.getMethod()) ? null : rule.getMethod();
+            policies.add(new Policy(method, rule.getPattern(), rule.getRate(), rule.getPerSecond()));
+        }
+    }
+
+    /**
+     * @param path request path without the context path
+     */
+    public Decision sample(String method, String path) {
+        Policy policy = fallback;
+        for (Policy candidate : policies) {
+            if (candidate.matches(method, path)) {
+                policy = candidate;
+                break;
+            }
+        }
+        if (policy.tryAcquire())
+            return Decision.SAMPLED;
+        return errorStatus > 0 || slowThreshold > 0 ? Decision.DEFERRED : Decision.SKIPPED;
+    }
+
+    /**
+     * @return true when a {@link Decision#DEFERRED} request has to be logged with its bodies
+     */
+    public boolean isNotable(int status, long elapsedMillis) {
+        return errorStatus > 0 && status >= errorStatus || slowThreshold > 0 && elapsedMillis >= slowThreshold;
+    }
+
+    private static final class Policy {
+
+        private final String method;
+        private final String pattern;
+        private final double rate;
+        private final int perSecond;
+        /**
+         * epoch second in the upper 32 bits, bodies logged within that second in the lower 32 bits
+         */
+        private final AtomicLong window = new AtomicLong();
+
+        Policy(String method, String pattern, double rate, int perSecond) {
+            this.method = method;
+            this.pattern = pattern;
+            this.rate = rate;
+            this.perSecond = perSecond;
+        }
+
+        boolean matches(String requestMethod, String path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                    && LoggingProperties.ANT_PATH_MATCHER.match(pattern, path);
+        }
+
+        boolean tryAcquire() {
+            if (rate <= 0) return false;
+            if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) return false;
+            if (perSecond <= 0) return true;
+            long second = (System.currentTimeMillis() / 1000) & 0xFFFFFFFFL;
+            while (true) {
+                long state = window.get();
+                long next;
+                if (state >>> 32 != second)
+                    next = second << 32 | 1;
+                else if ((int) state >= perSecond)
+                    return false;
+                else
+                    next = state + 1;
+                if (window.compareAndSet(state, next))
+                    return true;
+            }
+        }
+    }
+}
@@ -2,55 +2,74 @@ package com.sample.spring.logging;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 
+/**
+ * Read-only view over a cached request body, every instance shares the same backing array.
+ */
 public class CacheServletInputStream extends ServletInputStream {
 
-    private final InputStream inputStream;
+    private final ByteBuffer buffer;
+    private ReadListener readListener;
 
-    public CacheServletInputStream(ByteArrayInputStream inputStream) {
-        this.inputStream = inputStream;
+    public CacheServletInputStream(byte[] content) {
+        this(ByteBuffer.wrap(content));
+    }
+
+    public CacheServletInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer();
     }
 
     @Override
     public boolean isFinished() {
-        try {
-            return this.inputStream.available() == 0;
-        } catch (IOException ex) {
-            throw new RuntimeException(ex.getMessage(), ex);
-        }
+        return !buffer.hasRemaining();
     }
 
     @Override
-    public int available() throws IOException {
-        return this.inputStream.available();
+    public int available() {
+        return buffer.remaining();
     }
 
     @Override
-    public int read() throws IOException {
-        return this.inputStream.read();
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
     }
 
     @Override
-    public int read(byte[] b, int off, int len) throws IOException {
-        return inputStream.read(b, off, len);
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) return 0;
+        if (!buffer.hasRemaining()) return -1;
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
     }
 
     @Override
-    public void close() throws IOException {
-        inputStream.close();
+    public long skip(long n) {
+        int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
     }
 
     @Override
-    public synchronized void reset() throws IOException {
-        inputStream.reset();
+    public boolean markSupported() {
+        return true;
     }
 
     @Override
-    public int read(byte[] b) throws IOException {
-        return inputStream.read(b);
+    public synchronized void mark(int readLimit) {
+        buffer.mark();
+    }
+
+    @Override
+    public synchronized void reset() {
+        buffer.reset();
+    }
+
+    @Override
+    public void close() {
+        // nothing to release, the backing array is shared
     }
 
     @Override
@@ -58,8 +77,24 @@ public class CacheServletInputStream extends ServletInputStream {
         return true;
     }
 
+    /**
+     * The whole body is already in memory, so the listener is told about the data straight away
+     * and about the end of the body once it has drained the buffer.
+     */
     @Override
     public void setReadListener(ReadListener readListener) {
-        throw new UnsupportedOperationException();
+        if (readListener == null)
+            throw new NullPointerException("ReadListener must not be null");
+        if (this.readListener != null)
+            throw new IllegalStateException("ReadListener has already been set");
+        this.readListener = readListener;
+        try {
+            if (buffer.hasRemaining())
+                readListener.onDataAvailable();
+            if (!buffer.hasRemaining())
+                readListener.onAllDataRead();
+        } catch (IOException | RuntimeException ex) {
+            readListener.onError(ex);
+        }
     }
-}
\ No newline at end of file
+}
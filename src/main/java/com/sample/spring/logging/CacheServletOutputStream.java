@@ -1,29 +1,62 @@
 package com.sample.spring.logging;
 
-import org.apache.commons.io.output.TeeOutputStream;
-
 import javax.servlet.ServletOutputStream;
 import javax.servlet.WriteListener;
 import java.io.*;
 
+/**
+ * Writes through to the response and copies at most {@code maxCapture} bytes to the branch,
+ * while still counting every byte written.
+ */
 public class CacheServletOutputStream extends ServletOutputStream {
 
-    private final OutputStream copier;
     private final ServletOutputStream outputStream;
+    private final OutputStream branch;
+    private final long maxCapture;
+    private long count;
 
     public CacheServletOutputStream(ServletOutputStream outputStream, OutputStream branch) {
-        this.copier = new TeeOutputStream(outputStream, branch);
+        this(outputStream, branch, Long.MAX_VALUE);
+    }
+
+    public CacheServletOutputStream(ServletOutputStream outputStream, OutputStream branch, long maxCapture) {
         this.outputStream = outputStream;
+        this.branch = branch;
+        this.maxCapture = Math.max(0, maxCapture);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    void resetCount() {
+        count = 0;
     }
 
     @Override
-    public void write(byte[] arg0, int arg1, int arg2) throws IOException {
-        copier.write(arg0, arg1, arg2);
+    public void write(byte[] b, int off, int len) throws IOException {
+        outputStream.write(b, off, len);
+        if (count < maxCapture)
+            branch.write(b, off, (int) Math.min(len, maxCapture - count));
+        count += len;
     }
 
     @Override
     public void write(int b) throws IOException {
-        copier.write(b);
+        outputStream.write(b);
+        if (count < maxCapture)
+            branch.write(b);
+        count++;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
     }
 
     @Override
@@ -0,0 +1,130 @@
+package com.sample.spring.logging;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Case-insensitive allow-list or deny-list of logged headers, compiled once and shared by
+ * {@link LoggingFilter} and {@link LoggingInterceptor}.
+ * <br/>
+ * An allow-list looks up only the allowed names, a deny-list enumerates the headers and
+ * remembers the decision per distinct header name.
+ */
+public final class HeaderPolicy {
+
+    public enum Mode {
+        ALLOW,
+        DENY
+    }
+
+    public static final HeaderPolicy ALL = new HeaderPolicy(Mode.DENY, Collections.emptyList());
+
+    private static final int MAX_REMEMBERED_NAME = 512;
+
+    private final Mode mode;
+    private final Set<String> names = new HashSet<>();
+    private final List<String> allowed = new ArrayList<>();
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    private HeaderPolicy(Mode mode, Collection<String> headers) {
+        this.mode = mode;
+        for (String header : headers) {
+            if (StringUtils.isBlank(header)) continue;
+            String name = header.trim();
+            if (names.add(name.toLowerCase(Locale.ROOT).intern()))
+                allowed.add(name);
+        }
+    }
+
+    public static HeaderPolicy allow(Collection<String> headers) {
+        return new HeaderPolicy(Mode.ALLOW, headers);
+    }
+
+    public static HeaderPolicy deny(Collection<String> headers) {
+        return headers == null || headers.isEmpty() ? ALL : new HeaderPolicy(Mode.DENY, headers);
+    }
+
+    /**
+     * @param allow comma separated allowed headers, when empty the deny-list is used
+     * @param deny  comma separated excluded headers
+     */
+    public static HeaderPolicy of(String allow, String deny) {
+        if (StringUtils.isNotBlank(allow))
+            return allow(Arrays.asList(allow.split(",")));
+        return deny(StringUtils.isBlank(deny) ? Collections.emptyList() : Arrays.asList(deny.split(",")));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isLogged(String name) {
+        if (name == null) return false;
+        Boolean decision = decisions.get(name);
+        if (decision == null) {
+            decision = names.contains(name.toLowerCase(Locale.ROOT)) == (mode == Mode.ALLOW);
+            if (decisions.size() < MAX_REMEMBERED_NAME)
+                decisions.put(name, decision);
+        }
+        return decision;
+    }
+
+    public void copy(HttpServletRequest request, MultiValueMap<String, String> target) {
+        if (mode == Mode.ALLOW) {
+            for (String name : allowed) {
+                String value = request.getHeader(name);
+                if (value != null) target.add(name, value);
+            }
+            return;
+        }
+        Enumeration<String> headers = request.getHeaderNames();
+        while (headers.hasMoreElements()) {
+            String name = headers.nextElement();
+            if (isLogged(name))
+                target.add(name, request.getHeader(name));
+        }
+    }
+
+    public void copy(HttpServletResponse response, MultiValueMap<String, String> target) {
+        if (mode == Mode.ALLOW) {
+            for (String name : allowed) {
+                String value = response.getHeader(name);
+                if (value != null) target.add(name, value);
+            }
+            return;
+        }
+        for (String name : response.getHeaderNames()) {
+            if (isLogged(name))
+                target.add(name, response.getHeader(name));
+        }
+    }
+
+    public void copy(HttpHeaders headers, MultiValueMap<String, String> target) {
+        if (mode == Mode.ALLOW) {
+            for (String name : allowed) {
+                List<String> values = headers.get(name);
+                if (values != null) target.put(name, values);
+            }
+            return;
+        }
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (isLogged(entry.getKey()))
+                target.put(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.sample.spring.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compacts a JSON body token by token straight into the log line and stops as soon as the
+ * character budget is spent, so large bodies are never fully parsed or re-serialized.
+ * Key order and number literals are kept exactly as received.
+ */
+@Slf4j
+final class JsonCompactor {
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+    private JsonCompactor() {
+    }
+
+    /**
+     * @return true when the body did not fit into {@code maxLength} characters
+     */
+    static boolean append(byte[] body, StringBuilder builder, int maxLength) {
+        if (body == null || body.length == 0) return false;
+        int start = builder.length();
+        if (isJson(body)) {
+            BoundedWriter writer = new BoundedWriter(builder, maxLength);
+            try (JsonParser parser = FACTORY.createParser(body)) {
+                return copy(parser, writer);
+            } catch (LimitReachedException e) {
+                return true;
+            } catch (JsonEOFException e) {
+                return writer.truncated;
+            } catch (IOException e) {
+                log.warn("exception occurred while build log body {}", e.getMessage());
+                builder.setLength(start);
+            }
+        }
+        return appendText(body, builder, maxLength);
+    }
+
+    static boolean append(String body, StringBuilder builder, int maxLength) {
+        if (body == null || body.isEmpty()) return false;
+        return append(body.getBytes(StandardCharsets.UTF_8), builder, maxLength);
+    }
+
+    private static boolean copy(JsonParser parser, BoundedWriter writer) throws IOException {
+        JsonGenerator generator = FACTORY.createGenerator(writer);
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT)
+                    generator.writeNumber(parser.getText());
+                else
+                    generator.copyCurrentEvent(parser);
+                if (writer.count + generator.getOutputBuffered() >= writer.maxLength)
+                    break;
+            }
+        } finally {
+            generator.close();
+        }
+        return writer.truncated || parser.nextToken() != null;
+    }
+
+    private static boolean appendText(byte[] body, StringBuilder builder, int maxLength) {
+        int length = (int) Math.min(body.length, 4L * maxLength);
+        String text = new String(body, 0, length, StandardCharsets.UTF_8).trim();
+        if (text.length() > maxLength) {
+            builder.append(text, 0, maxLength);
+            return true;
+        }
+        builder.append(text);
+        return length < body.length;
+    }
+
+    private static boolean isJson(byte[] body) {
+        for (byte b : body) {
+            if (b == '{' || b == '[') return true;
+            if (!Character.isWhitespace(b)) return false;
+        }
+        return false;
+    }
+
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder builder;
+        private final int maxLength;
+        private int count;
+        private boolean truncated;
+
+        BoundedWriter(StringBuilder builder, int maxLength) {
+            this.builder = builder;
+            this.maxLength = Math.max(0, maxLength);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int n = Math.min(length, maxLength - count);
+            builder.append(buffer, offset, n);
+            count += n;
+            if (n < length) {
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class LimitReachedException extends IOException {
+
+        private static final long serialVersionUID = 2816342571470211325L;
+        private static final LimitReachedException INSTANCE = new LimitReachedException();
+
+        private LimitReachedException() {
+            super("log body limit reached", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
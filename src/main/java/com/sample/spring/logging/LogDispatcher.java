@@ -0,0 +1,165 @@
+package com.sample.spring.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves formatting and appender I/O of {@link LoggingEvent} off the request thread.
+ * <br/>
+ * Request threads only publish the captured event into a bounded {@link LogRingBuffer}, a single
+ * daemon thread renders and writes it to the target logger.
+ */
+@Slf4j
+public class LogDispatcher implements DisposableBean {
+
+    public enum OverflowPolicy {
+        /**
+         * drop the new event when the buffer is full
+         */
+        DROP,
+        /**
+         * wait on the request thread until the consumer frees a slot
+         */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Logger target;
+    private final LogRingBuffer<LoggingEvent> buffer;
+    private final OverflowPolicy policy;
+    private final long shutdownTimeout;
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running;
+    private volatile boolean parked;
+
+    public LogDispatcher(Logger target, int capacity, OverflowPolicy policy, long shutdownTimeout) {
+        this.target = target;
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.policy = policy == null ? OverflowPolicy.DROP : policy;
+        this.shutdownTimeout = shutdownTimeout;
+        this.worker = new Thread(this::consume, "logging-dispatcher");
+        this.worker.setDaemon(true);
+    }
+
+    public synchronized LogDispatcher start() {
+        if (!running && !worker.isAlive()) {
+            running = true;
+            worker.start();
+            log.debug("logging dispatcher started with buffer size {} and policy {}", buffer.capacity(), policy);
+        }
+        return this;
+    }
+
+    public boolean dispatch(LoggingEvent event) {
+        if (!target.isInfoEnabled())
+            return false;
+        if (!running) {
+            write(event);
+            return true;
+        }
+        if (buffer.offer(event)) {
+            signal();
+            return true;
+        }
+        if (policy == OverflowPolicy.BLOCK) {
+            while (running) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    signal();
+                    return true;
+                }
+            }
+            write(event);
+            return true;
+        }
+        long count = dropped.incrementAndGet();
+        if (Long.bitCount(count) == 1)
+            log.warn("logging buffer is full, {} events dropped so far", count);
+        return false;
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void signal() {
+        if (parked)
+            LockSupport.unpark(worker);
+    }
+
+    private void consume() {
+        while (running) {
+            LoggingEvent event = buffer.poll();
+            if (event != null) {
+                write(event);
+                continue;
+            }
+            parked = true;
+            if (buffer.size() == 0 && running)
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            parked = false;
+        }
+        drain();
+    }
+
+    private void drain() {
+        LoggingEvent event;
+        while ((event = buffer.poll()) != null)
+            write(event);
+    }
+
+    /**
+     * runs with the MDC of the publishing thread so appender patterns still see its values
+     */
+    private void write(LoggingEvent event) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        try {
+            if (event.getMdc() != null)
+                MDC.setContextMap(event.getMdc());
+            target.info(event.render());
+            dispatched.incrementAndGet();
+        } catch (Exception ex) {
+            log.warn("exception occurred while write logging event {}", ex.getMessage());
+        } finally {
+            if (previous != null)
+                MDC.setContextMap(previous);
+            else
+                MDC.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive())
+            log.warn("logging dispatcher did not drain within {} ms, {} events pending", shutdownTimeout, buffer.size());
+        else
+            drain();
+        log.info("logging dispatcher stopped, dispatched {} events, dropped {} events", dispatched.get(), dropped.get());
+    }
+}
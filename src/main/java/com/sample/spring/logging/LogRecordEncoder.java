@@ -0,0 +1,247 @@
+package com.sample.spring.logging;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders request / response records for both the inbound {@link LoggingFilter} and the outbound
+ * {@link LoggingInterceptor} into a per-thread buffer that is reused between log lines.
+ */
+public final class LogRecordEncoder implements Serializable {
+
+    private static final long serialVersionUID = -3719414402437871022L;
+
+    public enum Format {
+        /**
+         * {@code REQUEST GET ABC123, /api/users, 127.0.0.1, headers:..., body:...}
+         */
+        TEXT,
+        /**
+         * one JSON object per line
+         */
+        JSON,
+        /**
+         * {@code type=REQUEST method=GET trace_id=ABC123 ...}
+         */
+        KEY_VALUE
+    }
+
+    public static final LogRecordEncoder DEFAULT = new LogRecordEncoder(Format.TEXT);
+
+    private static final int MAX_RETAINED_CAPACITY = 32 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+
+    public LogRecordEncoder(Format format) {
+        this.format = format == null ? Format.TEXT : format;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the cleared buffer of the current thread
+     */
+    public static StringBuilder buffer() {
+        StringBuilder builder = BUFFER.get();
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * Materializes the buffer and drops it when a very large line made it grow.
+     */
+    public static String release(StringBuilder builder) {
+        String line = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY)
+            BUFFER.remove();
+        else
+            builder.setLength(0);
+        return line;
+    }
+
+    /**
+     * @return true when the body was truncated
+     */
+    public boolean appendRequest(StringBuilder out, String type, ServletContext context) {
+        begin(out, type);
+        if (format == Format.TEXT)
+            out.append(' ').append(context.getMethod()).append(' ').append(context.getUuid());
+        else {
+            field(out, "method", context.getMethod());
+            field(out, "trace_id", context.getUuid());
+        }
+        appendOrigin(out, context);
+        appendHeaders(out, context.getRequestHeader());
+        if (StringUtils.isNotEmpty(context.getQueryParam())) {
+            if (format == Format.TEXT)
+                out.append(", parameter:").append(context.getQueryParam());
+            else
+                quotedField(out, "parameter", context.getQueryParam());
+        }
+        boolean truncated = appendBody(out, context.getRequestBytes(), context.getRequestBodyText(), context.getMaxRequest())
+                || context.isRequestTruncated();
+        end(out, truncated);
+        return truncated;
+    }
+
+    /**
+     * @return true when the body was truncated
+     */
+    public boolean appendResponse(StringBuilder out, String type, ServletContext context, int status) {
+        begin(out, type);
+        if (format == Format.TEXT)
+            out.append(' ').append(status).append(' ').append(context.getUuid());
+        else {
+            out.append(format == Format.JSON ? ",\"status\":" : " status=").append(status);
+            field(out, "trace_id", context.getUuid());
+        }
+        appendOrigin(out, context);
+        appendHeaders(out, context.getResponseHeader());
+        boolean truncated = appendBody(out, context.getResponseBytes(), context.getResponseBodyText(), context.getMaxResponse())
+                || context.isResponseTruncated();
+        end(out, truncated);
+        return truncated;
+    }
+
+    private void begin(StringBuilder out, String type) {
+        if (format == Format.JSON)
+            escaped(out.append("{\"type\":\""), type).append('"');
+        else if (format == Format.KEY_VALUE)
+            quoted(out.append("type="), type);
+        else
+            out.append(type);
+    }
+
+    private void end(StringBuilder out, boolean truncated) {
+        if (format == Format.JSON) {
+            if (truncated) out.append(",\"truncated\":true");
+            out.append('}');
+        } else if (format == Format.KEY_VALUE && truncated) {
+            out.append(" truncated=true");
+        }
+    }
+
+    private void appendOrigin(StringBuilder out, ServletContext context) {
+        if (format == Format.TEXT) {
+            out.append(", ").append(context.getEndpoint()).append(", ").append(context.getIp());
+        } else {
+            field(out, "endpoint", context.getEndpoint());
+            field(out, "remote", context.getIp());
+        }
+    }
+
+    private void appendHeaders(StringBuilder out, MultiValueMap<String, String> headers) {
+        if (headers == null || headers.isEmpty()) return;
+        if (format == Format.JSON) {
+            out.append(",\"headers\":{");
+            boolean first = true;
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                escaped(out.append('"'), entry.getKey()).append("\":[");
+                List<String> values = entry.getValue();
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) out.append(',');
+                    escaped(out.append('"'), values.get(i)).append('"');
+                }
+                out.append(']');
+            }
+            out.append('}');
+            return;
+        }
+        StringBuilder scratch = format == Format.TEXT ? out.append(", headers:") : scratch();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            scratch.append(entry.getKey()).append('[');
+            List<String> values = entry.getValue();
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) scratch.append(',');
+                scratch.append(values.get(i));
+            }
+            scratch.append(']');
+        }
+        if (format == Format.KEY_VALUE)
+            quoted(out.append(" headers="), scratch);
+    }
+
+    private boolean appendBody(StringBuilder out, byte[] bytes, String text, int maxLength) {
+        if (format == Format.TEXT) {
+            int mark = out.length();
+            out.append(", body:");
+            int start = out.length();
+            boolean truncated = compact(bytes, text, out, maxLength);
+            if (out.length() == start)
+                out.setLength(mark);
+            return truncated;
+        }
+        StringBuilder scratch = scratch();
+        boolean truncated = compact(bytes, text, scratch, maxLength);
+        if (scratch.length() > 0)
+            quotedField(out, "body", scratch);
+        return truncated;
+    }
+
+    private static boolean compact(byte[] bytes, String text, StringBuilder out, int maxLength) {
+        return bytes != null ? JsonCompactor.append(bytes, out, maxLength) : JsonCompactor.append(text, out, maxLength);
+    }
+
+    private void field(StringBuilder out, String name, Object value) {
+        String text = String.valueOf(value);
+        if (format == Format.JSON)
+            escaped(out.append(",\"").append(name).append("\":\""), text).append('"');
+        else if (StringUtils.containsAny(text, ' ', '"', '='))
+            quoted(out.append(' ').append(name).append('='), text);
+        else
+            out.append(' ').append(name).append('=').append(text);
+    }
+
+    private void quotedField(StringBuilder out, String name, CharSequence value) {
+        if (format == Format.JSON)
+            escaped(out.append(",\"").append(name).append("\":\""), value).append('"');
+        else
+            quoted(out.append(' ').append(name).append('='), value);
+    }
+
+    private static StringBuilder quoted(StringBuilder out, CharSequence value) {
+        return escaped(out.append('"'), value).append('"');
+    }
+
+    private static StringBuilder escaped(StringBuilder out, CharSequence value) {
+        if (value == null) return out.append("null");
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c == '\r') {
+                out.append("\\r");
+            } else if (c == '\t') {
+                out.append("\\t");
+            } else if (c < 0x20) {
+                out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                out.append(c);
+            }
+        }
+        return out;
+    }
+
+    private static StringBuilder scratch() {
+        StringBuilder scratch = SCRATCH.get();
+        if (scratch.capacity() > MAX_RETAINED_CAPACITY) {
+            scratch = new StringBuilder(512);
+            SCRATCH.set(scratch);
+        }
+        scratch.setLength(0);
+        return scratch;
+    }
+}
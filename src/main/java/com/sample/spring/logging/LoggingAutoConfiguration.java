@@ -1,25 +1,27 @@
 package com.sample.spring.logging;
 
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 
-import java.util.Arrays;
-
 @Configuration
 @ConditionalOnClass(value = {LoggingFilter.class})
 @EnableConfigurationProperties(value = {LoggingProperties.class})
 public class LoggingAutoConfiguration {
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @ConditionalOnProperty(prefix = "custom.logging", name = {"enable"}, havingValue = "true")
     @ConditionalOnMissingBean(LoggingFilter.class)
-    public LoggingFilter customLoggingFilter(LoggingProperties prop) {
+    public LoggingFilter customLoggingFilter(LoggingProperties prop, ObjectProvider<LogDispatcher> dispatcher, ObjectProvider<TraceIdGenerator> traceIdGenerator) {
         LoggingFilter filter = new LoggingFilter();
         filter.maxRequest(prop.getMaxRequest());
         filter.maxResponse(prop.getMaxResponse());
@@ -31,12 +33,45 @@ public class LoggingAutoConfiguration {
         filter.includeResponseHeader(prop.isIncludeResponseHeader());
         filter.includeResponseBody(prop.isIncludeResponseBody());
         filter.ignoreAntPathMatch(prop.getIgnoreAntMatches().split(","));
+        filter.boundedCaptureAntPathMatch(prop.getBoundedCaptureAntMatches().split(","));
         filter.setTraceIdLength(prop.getTraceIdLength());
-        filter.setExcludeRequestHeader(Arrays.asList(prop.getExcludeRequestHeader().split(",")));
-        filter.setExcludeResponseHeader(Arrays.asList(prop.getExcludeResponseHeader().split(",")));
+        filter.traceIdGenerator(traceIdGenerator.getIfAvailable());
+        filter.requestHeaderPolicy(HeaderPolicy.of(prop.getAllowRequestHeader(), prop.getExcludeRequestHeader()));
+        filter.responseHeaderPolicy(HeaderPolicy.of(prop.getAllowResponseHeader(), prop.getExcludeResponseHeader()));
+        filter.requestCaptureMode(prop.getRequestCaptureMode());
+        filter.encoder(new LogRecordEncoder(prop.getFormat()));
+        if (prop.getSampling().isEnable())
+            filter.sampler(new BodySampler(prop.getSampling()));
+        filter.dispatcher(dispatcher.getIfAvailable());
         return filter;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.logging", name = {"enable", "async.enable"}, havingValue = "true")
+    @ConditionalOnMissingBean(LogDispatcher.class)
+    public LogDispatcher loggingDispatcher(LoggingProperties prop) {
+        LoggingProperties.Async async = prop.getAsync();
+        return new LogDispatcher(LoggerFactory.getLogger(LoggingFilter.class), async.getBufferSize(), async.getPolicy(), async.getShutdownTimeout()).start();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LoggingInterceptor.class)
+    public LoggingInterceptor loggingInterceptor(LoggingProperties prop, ObjectProvider<TraceIdGenerator> traceIdGenerator) {
+        LoggingInterceptor interceptor = new LoggingInterceptor(prop.getMaxRequest(), prop.getMaxResponse(), prop.getTraceIdLength());
+        interceptor.setRequestHeaderPolicy(HeaderPolicy.of(prop.getAllowRequestHeader(), prop.getExcludeRequestHeader()));
+        interceptor.setResponseHeaderPolicy(HeaderPolicy.of(prop.getAllowResponseHeader(), prop.getExcludeResponseHeader()));
+        interceptor.setEncoder(new LogRecordEncoder(prop.getFormat()));
+        interceptor.setTraceIdGenerator(traceIdGenerator.getIfAvailable());
+        return interceptor;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TraceIdGenerator.class)
+    public TraceIdGenerator loggingTraceIdGenerator(LoggingProperties prop) {
+        LoggingProperties.TraceId traceId = prop.getTraceId();
+        return TraceIdGenerator.create(traceId.getStrategy(), prop.getTraceIdLength(), traceId.getNode());
+    }
+
     @Lazy
     @Bean
     @ConditionalOnProperty(name = "custom.logging.enable", havingValue = "true")
@@ -0,0 +1,59 @@
+package com.sample.spring.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * Immutable view of a request or response line, the context and the MDC are copied when the event
+ * is created so the request thread can keep using them while the event waits to be written.
+ */
+public final class LoggingEvent {
+
+    public enum Type {
+        REQUEST, RESPONSE
+    }
+
+    private final Type type;
+    private final ServletContext context;
+    private final int status;
+    private final Map<String, String> mdc;
+
+    private LoggingEvent(Type type, ServletContext context, int status) {
+        this.type = type;
+        this.context = context.snapshot();
+        this.status = status;
+        this.mdc = MDC.getCopyOfContextMap();
+    }
+
+    public static LoggingEvent request(ServletContext context) {
+        return new LoggingEvent(Type.REQUEST, context, 0);
+    }
+
+    public static LoggingEvent response(ServletContext context, int status) {
+        return new LoggingEvent(Type.RESPONSE, context, status);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public ServletContext getContext() {
+        return context;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * MDC of the publishing thread, {@code null} when it was empty
+     */
+    public Map<String, String> getMdc() {
+        return mdc;
+    }
+
+    public String render() {
+        return type == Type.REQUEST ? context.buildLogRequest() : context.buildLogResponse(status);
+    }
+}
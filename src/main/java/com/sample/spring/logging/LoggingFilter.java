@@ -1,6 +1,7 @@
 package com.sample.spring.logging;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.spring.concurrent.ContextKey;
 import com.sample.spring.concurrent.InheritableContextHolder;
 import com.sample.spring.concurrent.ThreadContextHolder;
 import com.sample.spring.config.SmartLocaleResolver;
@@ -20,6 +21,8 @@ import org.springframework.http.MediaType;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -28,28 +31,46 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class LoggingFilter extends OncePerRequestFilter implements Ordered, LoggingShift {
 
+    public static final ContextKey<String> TRACE_ID = ContextKey.of("traceId", String.class);
     private final AntPathMatchUrl antPathMatch = new AntPathMatchUrl();
+    private final List<String> boundedCapturePatterns = new ArrayList<>();
     private Boolean includeResponseBody = true;
     private Boolean includeRequestBody = true;
     private Boolean includeResponseHeader = false;
     private Boolean includeRequestHeader = true;
-    private List<String> excludeRequestHeader = new ArrayList<>();
-    private List<String> excludeResponseHeader = new ArrayList<>();
+    private HeaderPolicy requestHeaderPolicy = HeaderPolicy.ALL;
+    private HeaderPolicy responseHeaderPolicy = HeaderPolicy.ALL;
     private int maxRequest = 2048;
     private int maxResponse = 2048;
     private int traceIdLength = 10;
     private int order = Ordered.HIGHEST_PRECEDENCE;
-
+    private LogDispatcher dispatcher;
+    private BodyCaptureMode requestCaptureMode = BodyCaptureMode.FULL;
+    private LogRecordEncoder encoder = LogRecordEncoder.DEFAULT;
+    private BodySampler sampler;
+    private TraceIdGenerator traceIdGenerator;
 
     public LoggingFilter ignoreAntPathMatch(String... match) {
         antPathMatch.addMatching(match);
         return this;
     }
 
+    /**
+     * routes whose request body is streamed by the handler, only the bounded prefix is captured whatever the configured mode
+     */
+    public LoggingFilter boundedCaptureAntPathMatch(String... match) {
+        for (String pattern : match) {
+            if (StringUtils.isNotEmpty(pattern))
+                boundedCapturePatterns.add(pattern.trim());
+        }
+        return this;
+    }
+
     public LoggingFilter ignoreRequest(boolean ignore) {
         antPathMatch.setIgnoreRequest(ignore);
         return this;
@@ -95,18 +116,53 @@ public class LoggingFilter extends OncePerRequestFilter implements Ordered, Logg
         return this;
     }
 
+    public LoggingFilter traceIdGenerator(TraceIdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+        return this;
+    }
+
     public LoggingFilter setOrder(int order) {
         this.order = order;
         return this;
     }
 
     public LoggingFilter setExcludeRequestHeader(List<String> headers) {
-        this.excludeRequestHeader = headers;
+        this.requestHeaderPolicy = HeaderPolicy.deny(headers);
         return this;
     }
 
     public LoggingFilter setExcludeResponseHeader(List<String> headers) {
-        this.excludeResponseHeader = headers;
+        this.responseHeaderPolicy = HeaderPolicy.deny(headers);
+        return this;
+    }
+
+    public LoggingFilter requestHeaderPolicy(HeaderPolicy policy) {
+        this.requestHeaderPolicy = policy;
+        return this;
+    }
+
+    public LoggingFilter responseHeaderPolicy(HeaderPolicy policy) {
+        this.responseHeaderPolicy = policy;
+        return this;
+    }
+
+    public LoggingFilter requestCaptureMode(BodyCaptureMode requestCaptureMode) {
+        this.requestCaptureMode = requestCaptureMode;
+        return this;
+    }
+
+    public LoggingFilter encoder(LogRecordEncoder encoder) {
+        this.encoder = encoder;
+        return this;
+    }
+
+    public LoggingFilter sampler(BodySampler sampler) {
+        this.sampler = sampler;
+        return this;
+    }
+
+    public LoggingFilter dispatcher(LogDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
         return this;
     }
 
@@ -116,22 +172,32 @@ public class LoggingFilter extends OncePerRequestFilter implements Ordered, Logg
     }
 
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException {
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (antPathMatch.isIgnoreMatching(request)) {
+            doFilterIgnored(request, response, chain);
+            return;
+        }
         SmartLocaleResolver.validateLocale(request);
-        AceServletRequestWrapper requestWrapper = new AceServletRequestWrapper(request);
-        AceServletResponseWrapper responseWrapper = new AceServletResponseWrapper(response);
-        ServletContext context = new ServletContext(maxRequest, maxResponse, traceIdLength);
+        boolean logEnabled = log.isInfoEnabled();
+        BodySampler.Decision decision = sample(request, logEnabled);
+        boolean capture = decision != BodySampler.Decision.SKIPPED;
+        AceServletRequestWrapper requestWrapper = new AceServletRequestWrapper(request, captureMode(request, decision), maxRequest);
+        AceServletResponseWrapper responseWrapper = new AceServletResponseWrapper(response, capture && Boolean.TRUE.equals(includeResponseBody) ? maxResponse : 0);
+        ServletContext context = new ServletContext(nextTraceId(), maxRequest, maxResponse);
+        context.setEncoder(encoder);
+        ResponseLog responseLog = new ResponseLog(request, requestWrapper, responseWrapper, context, decision, logEnabled);
         try {
+            ThreadContextHolder.set(TRACE_ID, context.getUuid());
             context.setIp(requestWrapper);
             context.setMethod(requestWrapper.getMethod());
             context.setEndpoint(requestWrapper.getRequestURI());
             context.setQueryParam(requestWrapper.getQueryParam());
             if (Boolean.TRUE.equals(includeRequestHeader))
-                context.setRequestHeader(requestWrapper, excludeRequestHeader);
-            if (Boolean.TRUE.equals(includeRequestBody))
-                context.setRequestBody(requestWrapper.getContent());
-            if (!antPathMatch.isIgnoreRequest(context.getEndpoint())) {
-                log.info(context.buildLogRequest());
+                context.setRequestHeader(requestWrapper, requestHeaderPolicy);
+            if (decision == BodySampler.Decision.SAMPLED && Boolean.TRUE.equals(includeRequestBody))
+                context.setRequestBody(requestWrapper.getContentAsByteArray(), requestWrapper.isContentTruncated());
+            if (logEnabled && decision != BodySampler.Decision.DEFERRED && !antPathMatch.isIgnoreRequest(request)) {
+                publish(LoggingEvent.request(context));
             }
             chain.doFilter(requestWrapper, responseWrapper);
         } catch (Exception ex) {
@@ -140,14 +206,135 @@ public class LoggingFilter extends OncePerRequestFilter implements Ordered, Logg
         } finally {
             ThreadContextHolder.clear();
             InheritableContextHolder.clear();
+            if (requestWrapper.isAsyncStarted())
+                requestWrapper.getAsyncContext().addListener(responseLog);
+            else
+                responseLog.complete();
+        }
+    }
+
+    /**
+     * Routes of the ignore list are neither wrapped nor logged, only the context holders are cleared.
+     */
+    private void doFilterIgnored(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ThreadContextHolder.clear();
+            InheritableContextHolder.clear();
+        }
+    }
+
+    /**
+     * {@link BodySampler.Decision#SKIPPED} requests are not buffered at all, {@link BodySampler.Decision#DEFERRED}
+     * ones and the bounded capture routes keep only the bounded prefix, whatever the configured mode.
+     */
+    private BodyCaptureMode captureMode(HttpServletRequest request, BodySampler.Decision decision) {
+        if (decision == BodySampler.Decision.SKIPPED)
+            return BodyCaptureMode.NONE;
+        if (decision == BodySampler.Decision.DEFERRED || isBoundedCapture(request))
+            return Boolean.TRUE.equals(includeRequestBody) ? BodyCaptureMode.BOUNDED : BodyCaptureMode.NONE;
+        return requestCaptureMode == BodyCaptureMode.FULL || Boolean.TRUE.equals(includeRequestBody) ? requestCaptureMode : BodyCaptureMode.NONE;
+    }
+
+    private boolean isBoundedCapture(HttpServletRequest request) {
+        if (boundedCapturePatterns.isEmpty())
+            return false;
+        String path = StringUtils.removeStart(request.getRequestURI(), request.getContextPath());
+        for (String pattern : boundedCapturePatterns) {
+            if (LoggingProperties.ANT_PATH_MATCHER.match(pattern, path))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Requests of a {@link BodySampler.Decision#DEFERRED} decision log their request line once the
+     * response status and duration are known.
+     */
+    private BodySampler.Decision sample(HttpServletRequest request, boolean logEnabled) {
+        if (!logEnabled)
+            return BodySampler.Decision.SKIPPED;
+        if (sampler == null)
+            return BodySampler.Decision.SAMPLED;
+        String path = StringUtils.removeStart(request.getRequestURI(), request.getContextPath());
+        return sampler.sample(request.getMethod(), path);
+    }
+
+    /**
+     * Logs the response once it is finished, straight after the filter chain or, for async
+     * handlers ({@code Callable}, {@code DeferredResult}, {@code StreamingResponseBody} ...),
+     * when the async processing completes.
+     */
+    private final class ResponseLog implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final AceServletRequestWrapper requestWrapper;
+        private final AceServletResponseWrapper responseWrapper;
+        private final ServletContext context;
+        private final BodySampler.Decision decision;
+        private final boolean logEnabled;
+        private final long start = System.nanoTime();
+
+        ResponseLog(HttpServletRequest request, AceServletRequestWrapper requestWrapper, AceServletResponseWrapper responseWrapper,
+                    ServletContext context, BodySampler.Decision decision, boolean logEnabled) {
+            this.request = request;
+            this.requestWrapper = requestWrapper;
+            this.responseWrapper = responseWrapper;
+            this.context = context;
+            this.decision = decision;
+            this.logEnabled = logEnabled;
+        }
+
+        void complete() {
+            boolean logBody = decision == BodySampler.Decision.SAMPLED || decision == BodySampler.Decision.DEFERRED
+                    && sampler.isNotable(responseWrapper.getStatus(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (decision == BodySampler.Decision.DEFERRED) {
+                if (logBody && Boolean.TRUE.equals(includeRequestBody))
+                    context.setRequestBody(requestWrapper.getContentAsByteArray(), requestWrapper.isContentTruncated());
+                if (!antPathMatch.isIgnoreRequest(request))
+                    publish(LoggingEvent.request(context));
+            }
             if (Boolean.TRUE.equals(includeResponseHeader))
-                context.setResponseHeader(responseWrapper, excludeResponseHeader);
-            if (Boolean.TRUE.equals(includeResponseBody))
-                context.setResponseBody(responseWrapper.getContent());
-            if (!antPathMatch.isIgnoreResponse(context.getEndpoint())) {
-                log.info(context.buildLogResponse(responseWrapper.getStatus()));
+                context.setResponseHeader(responseWrapper, responseHeaderPolicy);
+            if (logBody && Boolean.TRUE.equals(includeResponseBody))
+                context.setResponseBody(responseWrapper.getContentAsByteArray(), responseWrapper.isContentTruncated());
+            if (logEnabled && !antPathMatch.isIgnoreResponse(request)) {
+                publish(LoggingEvent.response(context, responseWrapper.getStatus()));
             }
         }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            log.warn("async request {} {} timed out", context.getUuid(), context.getEndpoint());
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            log.warn("async request {} {} failed {}", context.getUuid(), context.getEndpoint(),
+                    event.getThrowable() == null ? null : event.getThrowable().getMessage());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private String nextTraceId() {
+        return traceIdGenerator != null ? traceIdGenerator.generate() : RandomTraceIdGenerator.next(traceIdLength);
+    }
+
+    private void publish(LoggingEvent event) {
+        if (dispatcher != null)
+            dispatcher.dispatch(event);
+        else
+            log.info(event.render());
     }
 
     protected void handleException(AceServletRequestWrapper requestWrapper, AceServletResponseWrapper responseWrapper, Exception ex) throws IOException {
@@ -1,22 +1,15 @@
 package com.sample.spring.logging;
 
+import com.sample.spring.concurrent.ThreadContextHolder;
 import com.sample.spring.util.StringUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.util.*;
 
 @Slf4j
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
@@ -25,8 +18,10 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
     private int maxRequest = 2048;
     private int maxResponse = 2048;
     private int traceIdLength = 10;
-    private static final Set<String> DEFAULT_EXCLUDE_HEADER_REQUEST =
-            new HashSet<>(Arrays.asList(LoggingProperties.DEFAULT_EXCLUDE_REQUEST_HEADER.split(",")));
+    private LogRecordEncoder encoder = LogRecordEncoder.DEFAULT;
+    private TraceIdGenerator traceIdGenerator;
+    private HeaderPolicy requestHeaderPolicy = HeaderPolicy.of(null, LoggingProperties.DEFAULT_EXCLUDE_REQUEST_HEADER);
+    private HeaderPolicy responseHeaderPolicy = HeaderPolicy.ALL;
 
     public LoggingInterceptor() {
     }
@@ -49,66 +44,65 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
         this.traceIdLength = traceIdLength;
     }
 
+    public void setTraceIdGenerator(TraceIdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+    }
+
+    public void setRequestHeaderPolicy(HeaderPolicy requestHeaderPolicy) {
+        this.requestHeaderPolicy = requestHeaderPolicy;
+    }
+
+    public void setResponseHeaderPolicy(HeaderPolicy responseHeaderPolicy) {
+        this.responseHeaderPolicy = responseHeaderPolicy;
+    }
+
+    public void setEncoder(LogRecordEncoder encoder) {
+        this.encoder = encoder;
+    }
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
-        String uuid = StringUtil.random(traceIdLength, LoggingProperties.NUMBERS_AND_ALPHABET);
-        logRequestData(uuid, request, body);
-        ClientHttpResponse response = new ByteArrayInputStreamClientHttpResponse(execution.execute(request, body));
-        logResponseData(uuid, request.getURI(), response);
-        return response;
+        if (!log.isInfoEnabled())
+            return execution.execute(request, body);
+        URI uri = request.getURI();
+        ServletContext context = new ServletContext(nextTraceId(), maxRequest, maxResponse);
+        context.setEncoder(encoder);
+        context.setMethod(String.valueOf(request.getMethod()));
+        context.setEndpoint(uri.getPath());
+        context.setIp(StringUtil.extractBaseUrl(uri));
+        logRequestData(context, request, body);
+        ClientHttpResponse response = execution.execute(request, body);
+        int status = response.getRawStatusCode();
+        return new TeeClientHttpResponse(response, maxResponse, tee -> logResponseData(context, uri, status, tee));
+    }
+
+    /**
+     * reuses the trace id of the inbound request, also on executor threads it was propagated to
+     */
+    private String nextTraceId() {
+        String traceId = ThreadContextHolder.get(LoggingFilter.TRACE_ID);
+        if (traceId != null)
+            return traceId;
+        return traceIdGenerator != null ? traceIdGenerator.generate() : RandomTraceIdGenerator.next(traceIdLength);
     }
 
-    private void logRequestData(String uuid, HttpRequest request, byte[] bytes) {
+    private void logRequestData(ServletContext context, HttpRequest request, byte[] bytes) {
         try {
-            MultiValueMap<String, String> requestHeader = new LinkedMultiValueMap<>();
-            HttpHeaders headers = request.getHeaders();
-            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-                if (!DEFAULT_EXCLUDE_HEADER_REQUEST.contains(entry.getKey()))
-                    requestHeader.put(entry.getKey(), entry.getValue());
-            }
-            String body = IOUtils.toString(Optional.ofNullable(bytes).orElse(new byte[]{}), StandardCharsets.UTF_8.name());
-            String header = ServletContext.buildHeader(requestHeader);
-            URI uri = request.getURI();
-            StringBuilder builder = new StringBuilder();
-            builder.append(request.getMethod()).append(" ").append(uuid).append(", ");
-            builder.append(uri.getPath()).append(", ");
-            builder.append(uri.getScheme()).append("://").append(uri.getHost());
-            int port = uri.getPort();
-            if (port > 0) builder.append(":").append(port);
-            if (StringUtils.isNotEmpty(header)) builder.append(", ").append(header);
-            boolean isMaxRequest = ServletContext.truncateBody(body, builder, maxRequest);
-            log.info(uri.getScheme() + "-outgoing request {}", builder);
-            if (isMaxRequest)
-                log.info("Truncated request body length longer than " + maxRequest);
+            requestHeaderPolicy.copy(request.getHeaders(), context.getRequestHeader());
+            context.setRequestBody(bytes);
+            log.info(context.buildLogRequest(request.getURI().getScheme() + "-outgoing request"));
         } catch (Exception ex) {
             log.warn("exception occurred while try to log " + request.getURI().getScheme() + " outgoing request", ex);
         }
     }
 
-    private void logResponseData(String uuid, URI uri, ClientHttpResponse response) throws IOException {
-        InputStream inputStream = response.getBody();
+    private void logResponseData(ServletContext context, URI uri, int status, TeeClientHttpResponse response) {
         try {
-            MultiValueMap<String, String> responseHeader = new LinkedMultiValueMap<>();
-            HttpHeaders headers = response.getHeaders();
-            responseHeader.putAll(headers);
-            String body = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-            String header = ServletContext.buildHeader(responseHeader);
-            StringBuilder builder = new StringBuilder();
-            builder.append(response.getRawStatusCode()).append(" ").append(uuid).append(", ");
-            builder.append(uri.getPath()).append(", ");
-            builder.append(uri.getScheme()).append("://").append(uri.getHost());
-            int port = uri.getPort();
-            if (port > 0) builder.append(":").append(port);
-            if (StringUtils.isNotEmpty(header)) builder.append(", ").append(header);
-            boolean isMaxResponse = ServletContext.truncateBody(body, builder, maxResponse);
-            log.info(uri.getScheme() + "-outgoing response {}", builder);
-            if (isMaxResponse)
-                log.info("Truncated response body length longer than " + maxResponse);
+            responseHeaderPolicy.copy(response.getHeaders(), context.getResponseHeader());
+            context.setResponseBody(response.getContentAsByteArray(), response.isContentTruncated());
+            log.info(context.buildLogResponse(uri.getScheme() + "-outgoing response", status));
         } catch (Exception ex) {
             log.warn("exception occurred while try to log " + uri.getScheme() + " outgoing response", ex);
-        } finally {
-            if (inputStream.markSupported())
-                inputStream.reset();
         }
     }
 }
@@ -4,6 +4,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.Ordered;
 import org.springframework.util.AntPathMatcher;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "custom.logging")
 public class LoggingProperties {
 
@@ -32,13 +35,24 @@ public class LoggingProperties {
     private boolean includeRequestHeader = true;
     private String excludeRequestHeader = DEFAULT_EXCLUDE_REQUEST_HEADER;
     private String excludeResponseHeader = "";
+    private String allowRequestHeader = "";
+    private String allowResponseHeader = "";
     private int maxRequest = 2048;
     private int maxResponse = 2048;
     private boolean ignoreRequest = false;
     private boolean ignoreResponse = false;
     private String ignoreAntMatches = "";
+    /**
+     * routes reading their request body as a stream, only the first {@code maxRequest} bytes are kept for logging
+     */
+    private String boundedCaptureAntMatches = "/api/users/batch";
     private int traceIdLength = 10;
     private int order = Ordered.HIGHEST_PRECEDENCE;
+    private BodyCaptureMode requestCaptureMode = BodyCaptureMode.FULL;
+    private LogRecordEncoder.Format format = LogRecordEncoder.Format.TEXT;
+    private final Async async = new Async();
+    private final Sampling sampling = new Sampling();
+    private final TraceId traceId = new TraceId();
 
     public boolean isEnable() {
         return enable;
@@ -120,6 +134,14 @@ public class LoggingProperties {
         this.ignoreAntMatches = ignoreAntMatches;
     }
 
+    public String getBoundedCaptureAntMatches() {
+        return boundedCaptureAntMatches;
+    }
+
+    public void setBoundedCaptureAntMatches(String boundedCaptureAntMatches) {
+        this.boundedCaptureAntMatches = boundedCaptureAntMatches;
+    }
+
     public int getTraceIdLength() {
         return traceIdLength;
     }
@@ -151,4 +173,207 @@ public class LoggingProperties {
     public void setExcludeResponseHeader(String excludeResponseHeader) {
         this.excludeResponseHeader = excludeResponseHeader;
     }
-}
\ No newline at end of file
+
+    public String getAllowRequestHeader() {
+        return allowRequestHeader;
+    }
+
+    public void setAllowRequestHeader(String allowRequestHeader) {
+        this.allowRequestHeader = allowRequestHeader;
+    }
+
+    public String getAllowResponseHeader() {
+        return allowResponseHeader;
+    }
+
+    public void setAllowResponseHeader(String allowResponseHeader) {
+        this.allowResponseHeader = allowResponseHeader;
+    }
+
+    public BodyCaptureMode getRequestCaptureMode() {
+        return requestCaptureMode;
+    }
+
+    public void setRequestCaptureMode(BodyCaptureMode requestCaptureMode) {
+        this.requestCaptureMode = requestCaptureMode;
+    }
+
+    public LogRecordEncoder.Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(LogRecordEncoder.Format format) {
+        this.format = format;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    public TraceId getTraceId() {
+        return traceId;
+    }
+
+    public static class Async {
+        private boolean enable = false;
+        private int bufferSize = 8192;
+        private LogDispatcher.OverflowPolicy policy = LogDispatcher.OverflowPolicy.DROP;
+        private long shutdownTimeout = 5000;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public LogDispatcher.OverflowPolicy getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(LogDispatcher.OverflowPolicy policy) {
+            this.policy = policy;
+        }
+
+        public long getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(long shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    public static class TraceId {
+        private TraceIdGenerator.Strategy strategy = TraceIdGenerator.Strategy.RANDOM;
+        private String node;
+
+        public TraceIdGenerator.Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(TraceIdGenerator.Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(String node) {
+            this.node = node;
+        }
+    }
+
+    public static class Sampling {
+        private boolean enable = false;
+        private double rate = 1.0;
+        private int perSecond = 0;
+        /**
+         * a non zero value (or {@code slowThreshold}) makes every unsampled request capture a bounded prefix of its body
+         */
+        private int errorStatus = 0;
+        private long slowThreshold = 0;
+        private List<SamplingRule> rules = new ArrayList<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getPerSecond() {
+            return perSecond;
+        }
+
+        public void setPerSecond(int perSecond) {
+            this.perSecond = perSecond;
+        }
+
+        public int getErrorStatus() {
+            return errorStatus;
+        }
+
+        public void setErrorStatus(int errorStatus) {
+            this.errorStatus = errorStatus;
+        }
+
+        public long getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(long slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public List<SamplingRule> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<SamplingRule> rules) {
+            this.rules = rules;
+        }
+    }
+
+    public static class SamplingRule {
+        private String method;
+        private String pattern;
+        private double rate = 1.0;
+        private int perSecond = 0;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getPerSecond() {
+            return perSecond;
+        }
+
+        public void setPerSecond(int perSecond) {
+            this.perSecond = perSecond;
+        }
+    }
+}
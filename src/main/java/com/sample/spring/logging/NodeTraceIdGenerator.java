@@ -0,0 +1,55 @@
+package com.sample.spring.logging;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Prefixes random ids with a node id so ids of different instances never collide. Without a
+ * configured node the id is derived from the host name and the process id.
+ */
+public class NodeTraceIdGenerator implements TraceIdGenerator {
+
+    private static final int NODE_LENGTH = 4;
+
+    private final char[] prefix;
+    private final int length;
+
+    public NodeTraceIdGenerator(String node, int length) {
+        Assert.isTrue(0 < length, "Trace id length must be greater than zero");
+        this.prefix = ((StringUtils.isEmpty(node) ? defaultNode() : node) + "-").toCharArray();
+        this.length = length;
+    }
+
+    @Override
+    public String generate() {
+        char[] chars = new char[prefix.length + length];
+        System.arraycopy(prefix, 0, chars, 0, prefix.length);
+        RandomTraceIdGenerator.fill(chars, prefix.length);
+        return new String(chars);
+    }
+
+    public String getNode() {
+        return new String(prefix, 0, prefix.length - 1);
+    }
+
+    static String defaultNode() {
+        String host = System.getenv("HOSTNAME");
+        if (StringUtils.isEmpty(host)) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                host = "localhost";
+            }
+        }
+        long hash = host.hashCode() * 31L + ProcessHandle.current().pid();
+        char[] chars = new char[NODE_LENGTH];
+        for (int i = NODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = TimeOrderedTraceIdGenerator.CROCKFORD[(int) (hash & 31)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+}
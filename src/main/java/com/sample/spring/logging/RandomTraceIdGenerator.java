@@ -0,0 +1,34 @@
+package com.sample.spring.logging;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RandomTraceIdGenerator implements TraceIdGenerator {
+
+    private static final char[] ALPHABET = LoggingProperties.NUMBERS_AND_ALPHABET.toCharArray();
+
+    private final int length;
+
+    public RandomTraceIdGenerator(int length) {
+        Assert.isTrue(0 < length, "Trace id length must be greater than zero");
+        this.length = length;
+    }
+
+    @Override
+    public String generate() {
+        return next(length);
+    }
+
+    public static String next(int length) {
+        char[] chars = new char[length];
+        fill(chars, 0);
+        return new String(chars);
+    }
+
+    static void fill(char[] chars, int from) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = from; i < chars.length; i++)
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+    }
+}
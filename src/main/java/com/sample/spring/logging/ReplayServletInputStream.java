@@ -0,0 +1,106 @@
+package com.sample.spring.logging;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+
+/**
+ * Replays an already consumed prefix of the request body and then continues with the original stream,
+ * so only the prefix is ever held in memory.
+ */
+public class ReplayServletInputStream extends ServletInputStream {
+
+    private final byte[] prefix;
+    private final int length;
+    private final ServletInputStream delegate;
+    private int position;
+    private long count;
+
+    public ReplayServletInputStream(byte[] prefix, int length, ServletInputStream delegate) {
+        this.prefix = prefix;
+        this.length = length;
+        this.delegate = delegate;
+    }
+
+    /**
+     * number of bytes handed out so far, prefix included
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position < length) {
+            count++;
+            return prefix[position++] & 0xFF;
+        }
+        int b = delegate.read();
+        if (b != -1) count++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (position < length) {
+            int n = Math.min(len, length - position);
+            System.arraycopy(prefix, position, b, off, n);
+            position += n;
+            count += n;
+            return n;
+        }
+        int n = delegate.read(b, off, len);
+        if (n > 0) count += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (length - position) + delegate.available();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return position >= length && delegate.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+        return position < length || delegate.isReady();
+    }
+
+    /**
+     * the prefix is reported before the original stream signals completion, the container only knows about the latter
+     */
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        delegate.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                readListener.onDataAvailable();
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                int before;
+                do {
+                    before = position;
+                    if (position < length)
+                        readListener.onDataAvailable();
+                } while (position < length && position != before);
+                readListener.onAllDataRead();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                readListener.onError(t);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -1,20 +1,14 @@
 package com.sample.spring.logging;
 
-import com.sample.spring.util.StringUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.Serializable;
-import java.util.Collection;
-import java.util.Enumeration;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 public class ServletContext implements Serializable {
@@ -28,21 +22,57 @@ public class ServletContext implements Serializable {
     private String requestBody;
     private String queryParam;
     private String responseBody;
+    private byte[] requestBytes;
+    private boolean requestTruncated;
+    private byte[] responseBytes;
+    private boolean responseTruncated;
+    private transient LogRecordEncoder encoder;
     private int maxRequest;
     private int maxResponse;
     private final MultiValueMap<String, String> requestHeader = new LinkedMultiValueMap<>();
     private final MultiValueMap<String, String> responseHeader = new LinkedMultiValueMap<>();
 
     public ServletContext() {
-        uuid = StringUtil.random(8, LoggingProperties.NUMBERS_AND_ALPHABET);
+        uuid = RandomTraceIdGenerator.next(8);
     }
 
     public ServletContext(int maxRequest, int maxResponse, int traceIdLength) {
-        uuid = StringUtil.random(traceIdLength, LoggingProperties.NUMBERS_AND_ALPHABET);
+        this(RandomTraceIdGenerator.next(traceIdLength), maxRequest, maxResponse);
+    }
+
+    public ServletContext(String uuid, int maxRequest, int maxResponse) {
+        this.uuid = uuid;
         this.maxRequest = maxRequest;
         this.maxResponse = maxResponse;
     }
 
+    private ServletContext(ServletContext source) {
+        this.uuid = source.uuid;
+        this.ip = source.ip;
+        this.endpoint = source.endpoint;
+        this.method = source.method;
+        this.requestBody = source.requestBody;
+        this.queryParam = source.queryParam;
+        this.responseBody = source.responseBody;
+        this.requestBytes = source.requestBytes;
+        this.requestTruncated = source.requestTruncated;
+        this.responseBytes = source.responseBytes;
+        this.responseTruncated = source.responseTruncated;
+        this.encoder = source.encoder;
+        this.maxRequest = source.maxRequest;
+        this.maxResponse = source.maxResponse;
+        this.requestHeader.addAll(source.requestHeader);
+        this.responseHeader.addAll(source.responseHeader);
+    }
+
+    /**
+     * Copy of the current state, later changes to this context are not visible in the copy.
+     * The body arrays are shared, they are never written after being set.
+     */
+    ServletContext snapshot() {
+        return new ServletContext(this);
+    }
+
     public String getUuid() {
         return uuid;
     }
@@ -63,6 +93,10 @@ public class ServletContext implements Serializable {
             this.ip = request.getRemoteAddr();
     }
 
+    public void setIp(String ip) {
+        this.ip = ip;
+    }
+
     public String getMethod() {
         return method;
     }
@@ -88,13 +122,11 @@ public class ServletContext implements Serializable {
     }
 
     public void setRequestHeader(HttpServletRequest request, List<String> excludeRequestHeader) {
-        Enumeration<String> headers = request.getHeaderNames();
-        while (headers.hasMoreElements()) {
-            String name = headers.nextElement();
-            if (!excludeRequestHeader.contains(name)) {
-                requestHeader.add(name, request.getHeader(name));
-            }
-        }
+        setRequestHeader(request, HeaderPolicy.deny(excludeRequestHeader));
+    }
+
+    public void setRequestHeader(HttpServletRequest request, HeaderPolicy policy) {
+        policy.copy(request, requestHeader);
     }
 
     public MultiValueMap<String, String> getRequestHeader() {
@@ -102,12 +134,11 @@ public class ServletContext implements Serializable {
     }
 
     public void setResponseHeader(HttpServletResponse response, List<String> excludeResponseHeader) {
-        Collection<String> headers = response.getHeaderNames();
-        for (String name : headers) {
-            if (!excludeResponseHeader.contains(name)) {
-                responseHeader.add(name, response.getHeader(name));
-            }
-        }
+        setResponseHeader(response, HeaderPolicy.deny(excludeResponseHeader));
+    }
+
+    public void setResponseHeader(HttpServletResponse response, HeaderPolicy policy) {
+        policy.copy(response, responseHeader);
     }
 
     public MultiValueMap<String, String> getResponseHeader() {
@@ -123,39 +154,81 @@ public class ServletContext implements Serializable {
     }
 
     public String getRequestBody() {
-        try {
-            if (StringUtils.isEmpty(requestBody))
-                return "";
-            else if (requestBody.startsWith("{"))
-                return new JSONObject(requestBody).toString();
-            else if (requestBody.startsWith("["))
-                return new JSONArray(requestBody).toString();
-        } catch (Exception e) {
-            log.warn("exception occurred while build log request body {}", e.getMessage());
-        }
-        return requestBody;
+        StringBuilder builder = new StringBuilder();
+        if (requestBytes != null)
+            JsonCompactor.append(requestBytes, builder, Integer.MAX_VALUE);
+        else
+            JsonCompactor.append(requestBody, builder, Integer.MAX_VALUE);
+        return builder.toString();
     }
 
     public void setRequestBody(String requestBody) {
         this.requestBody = requestBody;
+        this.requestBytes = null;
+    }
+
+    /**
+     * Keep the raw bytes, they are only decoded when the log line is built.
+     */
+    public void setRequestBody(byte[] requestBody) {
+        setRequestBody(requestBody, false);
+    }
+
+    /**
+     * @param truncated the bytes are only a prefix of the body
+     */
+    public void setRequestBody(byte[] requestBody, boolean truncated) {
+        this.requestBody = null;
+        this.requestBytes = requestBody;
+        this.requestTruncated = truncated;
     }
 
     public String getResponseBody() {
-        try {
-            if (StringUtils.isEmpty(responseBody))
-                return "";
-            else if (responseBody.startsWith("{"))
-                return new JSONObject(responseBody).toString();
-            else if (responseBody.startsWith("["))
-                return new JSONArray(responseBody).toString();
-        } catch (Exception e) {
-            log.warn("exception occurred while build log response body {}", e.getMessage());
-        }
-        return responseBody;
+        StringBuilder builder = new StringBuilder();
+        if (responseBytes != null)
+            JsonCompactor.append(responseBytes, builder, Integer.MAX_VALUE);
+        else
+            JsonCompactor.append(responseBody, builder, Integer.MAX_VALUE);
+        return builder.toString();
     }
 
     public void setResponseBody(String responseBody) {
         this.responseBody = responseBody;
+        this.responseBytes = null;
+    }
+
+    public void setResponseBody(byte[] responseBody) {
+        setResponseBody(responseBody, false);
+    }
+
+    public void setResponseBody(byte[] responseBody, boolean truncated) {
+        this.responseBody = null;
+        this.responseBytes = responseBody;
+        this.responseTruncated = truncated;
+    }
+
+    byte[] getRequestBytes() {
+        return requestBytes;
+    }
+
+    String getRequestBodyText() {
+        return requestBody;
+    }
+
+    boolean isRequestTruncated() {
+        return requestTruncated;
+    }
+
+    byte[] getResponseBytes() {
+        return responseBytes;
+    }
+
+    String getResponseBodyText() {
+        return responseBody;
+    }
+
+    boolean isResponseTruncated() {
+        return responseTruncated;
     }
 
     public String getQueryParam() {
@@ -166,61 +239,37 @@ public class ServletContext implements Serializable {
         this.queryParam = queryParam;
     }
 
+    public void setEncoder(LogRecordEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    public LogRecordEncoder getEncoder() {
+        return encoder == null ? LogRecordEncoder.DEFAULT : encoder;
+    }
+
     public String buildLogRequest() {
-        StringBuilder builder = new StringBuilder("REQUEST ");
-        builder.append(getMethod()).append(" ");
-        builder.append(getUuid()).append(", ");
-        builder.append(getEndpoint()).append(", ");
-        builder.append(getIp());
-        String header = buildHeader(requestHeader);
-        if (StringUtils.isNotEmpty(header))
-            builder.append(", ").append(header);
-        if (StringUtils.isNotEmpty(queryParam))
-            builder.append(", parameter:").append(queryParam);
-        boolean isMaxRequest = truncateBody(getRequestBody(), builder, maxRequest);
-        if (isMaxRequest) log.info("Truncated request body length longer than " + maxRequest);
-        return builder.toString();
+        return buildLogRequest("REQUEST");
     }
 
-    public String buildLogResponse(Integer status) {
-        StringBuilder builder = new StringBuilder("RESPONSE ");
-        builder.append(status).append(" ");
-        builder.append(getUuid()).append(", ");
-        builder.append(getEndpoint()).append(", ");
-        builder.append(getIp());
-        String header = buildHeader(responseHeader);
-        if (StringUtils.isNotEmpty(header))
-            builder.append(", ").append(header);
-        boolean isMaxResponse = truncateBody(getResponseBody(), builder, maxResponse);
-        if (isMaxResponse) log.info("Truncated response body length longer than " + maxResponse);
-        return builder.toString();
+    public String buildLogRequest(String type) {
+        LogRecordEncoder recordEncoder = getEncoder();
+        StringBuilder builder = LogRecordEncoder.buffer();
+        boolean isMaxRequest = recordEncoder.appendRequest(builder, type, this);
+        if (isMaxRequest && recordEncoder.getFormat() == LogRecordEncoder.Format.TEXT)
+            log.info("Truncated request body length longer than " + maxRequest);
+        return LogRecordEncoder.release(builder);
     }
 
-    public static String buildHeader(MultiValueMap<String, String> headers) {
-        if (headers == null || headers.isEmpty()) return null;
-        StringBuilder builder = new StringBuilder("headers:");
-        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-            StringBuilder values = new StringBuilder(entry.getKey()).append("[");
-            for (String value : entry.getValue())
-                values.append(value).append(",");
-            if (entry.getValue().isEmpty())
-                builder.append(values.append("]"));
-            else
-                builder.append(values.length() > 0 ? StringUtil.substringLast(values.toString()) : "").append("]");
-        }
-        return builder.toString();
+    public String buildLogResponse(Integer status) {
+        return buildLogResponse("RESPONSE", status);
     }
 
-    public static boolean truncateBody(String body, StringBuilder builder, Integer maxLength) {
-        String temp = body;
-        boolean max = false;
-        if (StringUtils.isNotEmpty(temp)) {
-            if (temp.length() > maxLength) {
-                temp = temp.substring(0, maxLength);
-                max = true;
-            }
-            builder.append(", body:").append(temp.trim());
-        }
-        return max;
+    public String buildLogResponse(String type, Integer status) {
+        LogRecordEncoder recordEncoder = getEncoder();
+        StringBuilder builder = LogRecordEncoder.buffer();
+        boolean isMaxResponse = recordEncoder.appendResponse(builder, type, this, status);
+        if (isMaxResponse && recordEncoder.getFormat() == LogRecordEncoder.Format.TEXT)
+            log.info("Truncated response body length longer than " + maxResponse);
+        return LogRecordEncoder.release(builder);
     }
 }
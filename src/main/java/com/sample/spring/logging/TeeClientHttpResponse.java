@@ -0,0 +1,138 @@
+package com.sample.spring.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Streams the downstream body straight to the caller and keeps a copy of the first
+ * {@code maxCapture} bytes only. {@code onClose} is called once when the response is closed,
+ * which {@code RestTemplate} does after the message converters are done with the body.
+ */
+@Slf4j
+public class TeeClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final int maxCapture;
+    private final Consumer<TeeClientHttpResponse> onClose;
+    private CapturingInputStream body;
+    private boolean closed;
+
+    public TeeClientHttpResponse(ClientHttpResponse delegate, int maxCapture, Consumer<TeeClientHttpResponse> onClose) {
+        this.delegate = delegate;
+        this.maxCapture = Math.max(0, maxCapture);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null)
+            body = new CapturingInputStream(delegate.getBody(), maxCapture);
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return delegate.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    /**
+     * @return the captured prefix of the bytes read by the caller so far
+     */
+    public byte[] getContentAsByteArray() {
+        return body == null ? new byte[0] : Arrays.copyOf(body.captured, body.length);
+    }
+
+    public boolean isContentTruncated() {
+        return body != null && body.count > body.length;
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                try {
+                    onClose.accept(this);
+                } catch (Exception ex) {
+                    log.warn("exception occurred while log client response {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class CapturingInputStream extends FilterInputStream {
+
+        private final int maxCapture;
+        private byte[] captured = new byte[0];
+        private int length;
+        private long count;
+
+        CapturingInputStream(InputStream in, int maxCapture) {
+            super(in);
+            this.maxCapture = maxCapture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+                if (length < maxCapture) {
+                    ensureCapacity(1);
+                    captured[length++] = (byte) b;
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+                int copy = Math.min(n, maxCapture - length);
+                if (copy > 0) {
+                    ensureCapacity(copy);
+                    System.arraycopy(b, off, captured, length, copy);
+                    length += copy;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void ensureCapacity(int n) {
+            if (length + n > captured.length)
+                captured = Arrays.copyOf(captured, Math.min(maxCapture, Math.max(length + n, Math.max(256, captured.length * 2))));
+        }
+    }
+}
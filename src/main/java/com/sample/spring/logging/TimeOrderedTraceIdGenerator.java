@@ -0,0 +1,43 @@
+package com.sample.spring.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID layout in Crockford base32: 48 bit millisecond timestamp in the first 10 characters and
+ * random characters after it. Ids created in the same millisecond are not ordered among themselves.
+ */
+public class TimeOrderedTraceIdGenerator implements TraceIdGenerator {
+
+    static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TIME_LENGTH = 10;
+    private static final int MIN_RANDOM_LENGTH = 16;
+
+    private final int randomLength;
+
+    public TimeOrderedTraceIdGenerator(int length) {
+        this.randomLength = Math.max(length - TIME_LENGTH, MIN_RANDOM_LENGTH);
+    }
+
+    @Override
+    public String generate() {
+        char[] chars = new char[TIME_LENGTH + randomLength];
+        long time = System.currentTimeMillis();
+        for (int i = TIME_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (time & 31)];
+            time >>>= 5;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long bits = 0;
+        int available = 0;
+        for (int i = TIME_LENGTH; i < chars.length; i++) {
+            if (available < 5) {
+                bits = random.nextLong();
+                available = 64;
+            }
+            chars[i] = CROCKFORD[(int) (bits & 31)];
+            bits >>>= 5;
+            available -= 5;
+        }
+        return new String(chars);
+    }
+}
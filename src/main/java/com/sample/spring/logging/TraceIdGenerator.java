@@ -0,0 +1,34 @@
+package com.sample.spring.logging;
+
+/**
+ * Source of the trace id printed on every request / response log line.
+ * Implementations are shared by all request threads and must not block.
+ */
+public interface TraceIdGenerator {
+
+    enum Strategy {
+        /**
+         * {@code traceIdLength} random characters of {@link LoggingProperties#NUMBERS_AND_ALPHABET}
+         */
+        RANDOM,
+        /**
+         * ULID style, 10 characters of millisecond timestamp followed by at least 16 random characters,
+         * ids sort by creation time
+         */
+        TIME_ORDERED,
+        /**
+         * node id followed by {@code traceIdLength} random characters, unique across instances
+         */
+        NODE
+    }
+
+    String generate();
+
+    static TraceIdGenerator create(Strategy strategy, int length, String node) {
+        if (strategy == Strategy.TIME_ORDERED)
+            return new TimeOrderedTraceIdGenerator(length);
+        if (strategy == Strategy.NODE)
+            return new NodeTraceIdGenerator(node, length);
+        return new RandomTraceIdGenerator(length);
+    }
+}
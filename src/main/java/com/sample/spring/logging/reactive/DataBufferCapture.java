@@ -0,0 +1,44 @@
+package com.sample.spring.logging.reactive;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Copies the first {@code maxCapture} bytes of the buffers passing through a body publisher
+ * without moving their read position, the remaining bytes are only counted.
+ */
+final class DataBufferCapture {
+
+    private final int maxCapture;
+    private byte[] content = new byte[0];
+    private int length;
+    private long count;
+
+    DataBufferCapture(int maxCapture) {
+        this.maxCapture = Math.max(0, maxCapture);
+    }
+
+    void append(DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        count += readable;
+        int n = Math.min(readable, maxCapture - length);
+        if (n <= 0) return;
+        if (length + n > content.length)
+            content = Arrays.copyOf(content, Math.min(maxCapture, Math.max(length + n, content.length * 2)));
+        buffer.asByteBuffer(buffer.readPosition(), n).get(content, length, n);
+        length += n;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(content, length);
+    }
+
+    boolean isTruncated() {
+        return count > length;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sample.spring.logging.reactive;
+
+import com.sample.spring.logging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebClient counterpart of {@link LoggingInterceptor}. The trace id of the inbound exchange is
+ * taken from the Reactor {@code Context} when there is one.
+ */
+@Slf4j
+public class LoggingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final LoggingProperties prop;
+    private final HeaderPolicy requestHeaderPolicy;
+    private final HeaderPolicy responseHeaderPolicy;
+    private final LogRecordEncoder encoder;
+    private TraceIdGenerator traceIdGenerator;
+
+    public LoggingExchangeFilterFunction(LoggingProperties prop) {
+        this.prop = prop;
+        this.requestHeaderPolicy = HeaderPolicy.of(prop.getAllowRequestHeader(), prop.getExcludeRequestHeader());
+        this.responseHeaderPolicy = HeaderPolicy.of(prop.getAllowResponseHeader(), prop.getExcludeResponseHeader());
+        this.encoder = new LogRecordEncoder(prop.getFormat());
+    }
+
+    public LoggingExchangeFilterFunction traceIdGenerator(TraceIdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+        return this;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!log.isInfoEnabled())
+            return next.exchange(request);
+        return Mono.deferContextual(ctx -> {
+            String traceId = ReactiveTraceContext.traceId(ctx).orElseGet(this::nextTraceId);
+            URI uri = request.url();
+            ServletContext context = new ServletContext(traceId, prop.getMaxRequest(), prop.getMaxResponse());
+            context.setEncoder(encoder);
+            context.setMethod(request.method().name());
+            context.setEndpoint(uri.getPath());
+            context.setIp(uri.getScheme() + "://" + uri.getAuthority());
+            requestHeaderPolicy.copy(request.headers(), context.getRequestHeader());
+            DataBufferCapture requestCapture = new DataBufferCapture(prop.getMaxRequest());
+            AtomicBoolean requestLogged = new AtomicBoolean();
+            Runnable logRequest = () -> {
+                if (!requestLogged.compareAndSet(false, true)) return;
+                context.setRequestBody(requestCapture.toByteArray(), requestCapture.isTruncated());
+                log.info(context.buildLogRequest(uri.getScheme() + "-outgoing request"));
+            };
+            ClientRequest capturing = ClientRequest.from(request)
+                    .body((message, insertContext) -> request.body().insert(new CapturingRequest(message, requestCapture, logRequest), insertContext))
+                    .build();
+            return next.exchange(capturing)
+                    .doOnNext(response -> logRequest.run())
+                    .map(response -> capture(response, context, uri));
+        });
+    }
+
+    private ClientResponse capture(ClientResponse response, ServletContext context, URI uri) {
+        responseHeaderPolicy.copy(response.headers().asHttpHeaders(), context.getResponseHeader());
+        DataBufferCapture responseCapture = new DataBufferCapture(prop.getMaxResponse());
+        AtomicBoolean responseLogged = new AtomicBoolean();
+        return response.mutate()
+                .body(body -> body.doOnNext(responseCapture::append).doFinally(signal -> {
+                    if (!responseLogged.compareAndSet(false, true)) return;
+                    context.setResponseBody(responseCapture.toByteArray(), responseCapture.isTruncated());
+                    log.info(context.buildLogResponse(uri.getScheme() + "-outgoing response", response.rawStatusCode()));
+                }))
+                .build();
+    }
+
+    private String nextTraceId() {
+        return traceIdGenerator != null ? traceIdGenerator.generate() : RandomTraceIdGenerator.next(prop.getTraceIdLength());
+    }
+
+    private static final class CapturingRequest extends ClientHttpRequestDecorator {
+
+        private final DataBufferCapture capture;
+        private final Runnable onWritten;
+
+        CapturingRequest(ClientHttpRequest delegate, DataBufferCapture capture, Runnable onWritten) {
+            super(delegate);
+            this.capture = capture;
+            this.onWritten = onWritten;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(capture::append).doOnComplete(onWritten));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(capture::append)).doOnComplete(onWritten));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return super.setComplete().doOnSuccess(done -> onWritten.run());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sample.spring.logging.reactive;
+
+import com.sample.spring.logging.LogDispatcher;
+import com.sample.spring.logging.LoggingProperties;
+import com.sample.spring.logging.TraceIdGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@ConditionalOnClass(value = {WebClient.class})
+public class ReactiveLoggingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnProperty(prefix = "custom.logging", name = {"enable"}, havingValue = "true")
+    @ConditionalOnMissingBean(ReactiveLoggingFilter.class)
+    public ReactiveLoggingFilter reactiveLoggingFilter(LoggingProperties prop, ObjectProvider<LogDispatcher> dispatcher, ObjectProvider<TraceIdGenerator> traceIdGenerator) {
+        return new ReactiveLoggingFilter(prop)
+                .dispatcher(dispatcher.getIfAvailable())
+                .traceIdGenerator(traceIdGenerator.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.logging", name = {"enable"}, havingValue = "true")
+    @ConditionalOnMissingBean(LoggingExchangeFilterFunction.class)
+    public LoggingExchangeFilterFunction loggingExchangeFilterFunction(LoggingProperties prop, ObjectProvider<TraceIdGenerator> traceIdGenerator) {
+        return new LoggingExchangeFilterFunction(prop).traceIdGenerator(traceIdGenerator.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.logging", name = {"enable"}, havingValue = "true")
+    public WebClientCustomizer loggingWebClientCustomizer(LoggingExchangeFilterFunction loggingExchangeFilterFunction) {
+        return builder -> builder.filter(loggingExchangeFilterFunction);
+    }
+}
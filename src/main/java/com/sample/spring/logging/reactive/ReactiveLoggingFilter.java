@@ -0,0 +1,180 @@
+package com.sample.spring.logging.reactive;
+
+import com.sample.spring.logging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebFlux counterpart of {@link LoggingFilter} driven by the same {@link LoggingProperties}.
+ * <br/>
+ * Bodies are teed buffer by buffer while the application reads / writes them, nothing is aggregated.
+ * The request line is published when the response is committed, since the request body is only
+ * known once the handler has consumed it.
+ */
+@Slf4j
+public class ReactiveLoggingFilter implements WebFilter, Ordered {
+
+    private final AntPathMatchUrl antPathMatch = new AntPathMatchUrl();
+    private final LoggingProperties prop;
+    private final HeaderPolicy requestHeaderPolicy;
+    private final HeaderPolicy responseHeaderPolicy;
+    private final LogRecordEncoder encoder;
+    private final BodySampler sampler;
+    private TraceIdGenerator traceIdGenerator;
+    private LogDispatcher dispatcher;
+
+    public ReactiveLoggingFilter(LoggingProperties prop) {
+        this.prop = prop;
+        this.requestHeaderPolicy = HeaderPolicy.of(prop.getAllowRequestHeader(), prop.getExcludeRequestHeader());
+        this.responseHeaderPolicy = HeaderPolicy.of(prop.getAllowResponseHeader(), prop.getExcludeResponseHeader());
+        this.encoder = new LogRecordEncoder(prop.getFormat());
+        this.sampler = prop.getSampling().isEnable() ? new BodySampler(prop.getSampling()) : null;
+        antPathMatch.addMatching(prop.getIgnoreAntMatches().split(","));
+        antPathMatch.setIgnoreRequest(prop.isIgnoreRequest());
+        antPathMatch.setIgnoreResponse(prop.isIgnoreResponse());
+    }
+
+    public ReactiveLoggingFilter traceIdGenerator(TraceIdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+        return this;
+    }
+
+    public ReactiveLoggingFilter dispatcher(LogDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
+    @Override
+    public int getOrder() {
+        return prop.getOrder();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String endpoint = request.getPath().value();
+        if (!log.isInfoEnabled() || antPathMatch.isIgnoreMatching(endpoint))
+            return chain.filter(exchange);
+        String traceId = traceIdGenerator != null ? traceIdGenerator.generate() : RandomTraceIdGenerator.next(prop.getTraceIdLength());
+        BodySampler.Decision decision = sampler == null ? BodySampler.Decision.SAMPLED
+                : sampler.sample(request.getMethodValue(), request.getPath().pathWithinApplication().value());
+        boolean capture = decision != BodySampler.Decision.SKIPPED;
+        ServletContext context = new ServletContext(traceId, prop.getMaxRequest(), prop.getMaxResponse());
+        context.setEncoder(encoder);
+        context.setMethod(request.getMethodValue());
+        context.setEndpoint(endpoint);
+        context.setIp(remoteAddress(request));
+        context.setQueryParam(request.getURI().getRawQuery());
+        if (prop.isIncludeRequestHeader())
+            requestHeaderPolicy.copy(request.getHeaders(), context.getRequestHeader());
+
+        DataBufferCapture requestCapture = capture && prop.isIncludeRequestBody() ? new DataBufferCapture(prop.getMaxRequest()) : null;
+        DataBufferCapture responseCapture = capture && prop.isIncludeResponseBody() ? new DataBufferCapture(prop.getMaxResponse()) : null;
+        long start = System.nanoTime();
+        AtomicBoolean requestLogged = new AtomicBoolean();
+        Runnable logRequest = () -> {
+            if (!requestLogged.compareAndSet(false, true) || antPathMatch.isIgnoreRequest(endpoint)) return;
+            if (requestCapture != null && isLogBody(decision, exchange.getResponse(), start))
+                context.setRequestBody(requestCapture.toByteArray(), requestCapture.isTruncated());
+            publish(LoggingEvent.request(context));
+        };
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            logRequest.run();
+            return Mono.empty();
+        });
+        ServerWebExchange decorated = exchange.mutate()
+                .request(requestCapture == null ? request : new CapturingRequest(request, requestCapture))
+                .response(responseCapture == null ? response : new CapturingResponse(response, responseCapture))
+                .build();
+        return chain.filter(decorated)
+                .doFinally(signal -> {
+                    logRequest.run();
+                    if (prop.isIncludeResponseHeader())
+                        responseHeaderPolicy.copy(response.getHeaders(), context.getResponseHeader());
+                    if (responseCapture != null && isLogBody(decision, response, start))
+                        context.setResponseBody(responseCapture.toByteArray(), responseCapture.isTruncated());
+                    if (!antPathMatch.isIgnoreResponse(endpoint))
+                        publish(LoggingEvent.response(context, status(response)));
+                })
+                .contextWrite(ctx -> ctx.put(ReactiveTraceContext.TRACE_ID, traceId));
+    }
+
+    private boolean isLogBody(BodySampler.Decision decision, ServerHttpResponse response, long start) {
+        return decision == BodySampler.Decision.SAMPLED || decision == BodySampler.Decision.DEFERRED
+                && sampler.isNotable(status(response), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static int status(ServerHttpResponse response) {
+        Integer status = response.getRawStatusCode();
+        return status == null ? 200 : status;
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        for (String header : LoggingProperties.IP_HEADER_CANDIDATES) {
+            String ip = request.getHeaders().getFirst(header);
+            if (StringUtils.isNotEmpty(ip) && !"unknown".equalsIgnoreCase(ip))
+                return ip.split(",")[0].trim();
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null ? null : address.getHostString();
+    }
+
+    private void publish(LoggingEvent event) {
+        if (dispatcher != null)
+            dispatcher.dispatch(event);
+        else
+            log.info(event.render());
+    }
+
+    private static final class CapturingRequest extends ServerHttpRequestDecorator {
+
+        private final DataBufferCapture capture;
+
+        CapturingRequest(ServerHttpRequest delegate, DataBufferCapture capture) {
+            super(delegate);
+            this.capture = capture;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(capture::append);
+        }
+    }
+
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final DataBufferCapture capture;
+
+        CapturingResponse(ServerHttpResponse delegate, DataBufferCapture capture) {
+            super(delegate);
+            this.capture = capture;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(capture::append));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(capture::append)));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sample.spring.logging.reactive;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+
+/**
+ * Trace id of the current exchange carried in the Reactor {@code Context} rather than in a thread-local.
+ */
+public final class ReactiveTraceContext {
+
+    public static final String TRACE_ID = ReactiveTraceContext.class.getName() + ".TRACE_ID";
+
+    private ReactiveTraceContext() {
+    }
+
+    public static Mono<String> traceId() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(traceId(context)));
+    }
+
+    public static Optional<String> traceId(ContextView context) {
+        return context.getOrEmpty(TRACE_ID).map(String::valueOf);
+    }
+}
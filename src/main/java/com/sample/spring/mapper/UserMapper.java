@@ -17,6 +17,8 @@ public interface UserMapper {
 
     UserDto entityToDto(UserEntity entity);
 
+    UserDto copy(UserDto dto);
+
     UserEntity dtoToEntity(UserDto dto);
 
     UserDto voToDto(UserRequestVo vo);
@@ -2,8 +2,31 @@ package com.sample.spring.repository;
 
 import com.sample.spring.entity.I18nEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface I18nRepository extends JpaRepository<I18nEntity, String> {
+
+    List<I18nEntity> findAllByStatus(String status);
+
+    List<I18nEntity> findAllByStatusAndKeyIn(String status, Collection<String> keys);
+
+    @Query("select count(e) as count, max(e.createdDate) as lastModified from I18nEntity e where e.status = :status")
+    Version findVersionByStatus(@Param("status") String status);
+
+    /**
+     * cheap probe telling whether the translations changed since the last load, inserts and deletes are
+     * seen, rows updated in place are picked up by the max-age reload
+     */
+    interface Version {
+        long getCount();
+
+        Date getLastModified();
+    }
 }
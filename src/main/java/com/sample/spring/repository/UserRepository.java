@@ -1,9 +1,33 @@
 package com.sample.spring.repository;
 
 import com.sample.spring.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+
+    /**
+     * keyset page on the primary key, a {@link Slice} reads one extra row instead of counting
+     */
+    Slice<UserEntity> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long id, Pageable pageable);
+
+    /**
+     * server side cursor read 500 rows at a time, must be consumed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select u from UserEntity u where u.status = :status order by u.id")
+    Stream<UserEntity> streamByStatus(@Param("status") String status);
 }
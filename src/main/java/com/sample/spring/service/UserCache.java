@@ -0,0 +1,68 @@
+package com.sample.spring.service;
+
+import com.sample.spring.dto.UserDto;
+
+import java.util.function.Function;
+
+/**
+ * Read-through cache of users by id, remembering unknown ids as well.
+ */
+public interface UserCache {
+
+    /**
+     * cached user of {@code id}, loaded with {@code loader} on a miss; {@code null} when the loader found nothing
+     */
+    UserDto get(Long id, Function<Long, UserDto> loader);
+
+    void evict(Long id);
+
+    void clear();
+
+    Stats stats();
+
+    final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long negativeHits;
+        private final long evictions;
+        private final long size;
+
+        public Stats(long hits, long misses, long negativeHits, long evictions, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.negativeHits = negativeHits;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getNegativeHits() {
+            return negativeHits;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long requests = hits + negativeHits + misses;
+            return requests == 0 ? 1.0 : (double) (hits + negativeHits) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, negativeHits=%d, misses=%d, hitRate=%.3f, evictions=%d, size=%d", hits, negativeHits, misses, getHitRate(), evictions, size);
+        }
+    }
+}
@@ -1,18 +1,42 @@
 package com.sample.spring.service;
 
+import com.sample.spring.dto.UserBatchResultDto;
 import com.sample.spring.dto.UserDto;
+import com.sample.spring.web.vo.request.RequestCursorVO;
 import com.sample.spring.web.vo.request.RequestPageableVO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface UserService {
     @Transactional
     void save(UserDto dto);
 
     void updateUsername(String id, String username);
 
-    Page<UserDto> findByUsers(RequestPageableVO request);
+    /**
+     * the page is read on the calling thread, the returned future completes once the downstream call is done
+     */
+    CompletableFuture<Page<UserDto>> findByUsers(RequestPageableVO request);
+
+    Slice<UserDto> findByUsers(RequestCursorVO request);
 
 
     UserDto findById(String id);
+
+    /**
+     * hands the active users to {@code consumer} one at a time, in id order, without holding them in memory
+     */
+    @Transactional(readOnly = true)
+    void exportUsers(Consumer<UserDto> consumer);
+
+    /**
+     * reads a JSON array of users element by element and persists the valid ones in chunks, each chunk
+     * in its own transaction
+     */
+    UserBatchResultDto importUsers(InputStream inputStream);
 }
@@ -0,0 +1,88 @@
+package com.sample.spring.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sample.spring.config.UserProperties;
+import com.sample.spring.dto.UserDto;
+import com.sample.spring.mapper.UserMapper;
+import com.sample.spring.service.UserCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size and ttl bounded {@link UserCache}. Callers get their own copy of the cached user.
+ * <br/>
+ * A load is only kept when no eviction happened while it ran, so a lookup racing with an update
+ * never caches the row read before the update. The generation is checked again after the put, an
+ * eviction that slipped in between takes the entry out again, {@link #evict} invalidates only after
+ * moving the generation so one of the two always removes it.
+ */
+public class GuavaUserCache implements UserCache {
+    private final Cache<Long, UserDto> users;
+    private final Cache<Long, Boolean> notFound;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+
+    public GuavaUserCache(UserProperties.Cache prop) {
+        this.users = CacheBuilder.newBuilder()
+                .maximumSize(prop.getMaximumSize())
+                .expireAfterWrite(prop.getTtl(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        this.notFound = CacheBuilder.newBuilder()
+                .maximumSize(prop.getNegativeTtl() > 0 ? prop.getMaximumSize() : 0)
+                .expireAfterWrite(Math.max(1, prop.getNegativeTtl()), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public UserDto get(Long id, Function<Long, UserDto> loader) {
+        UserDto user = users.getIfPresent(id);
+        if (user != null) {
+            hits.increment();
+            return UserMapper.INSTANCE.copy(user);
+        }
+        if (notFound.getIfPresent(id) != null) {
+            negativeHits.increment();
+            return null;
+        }
+        misses.increment();
+        long before = generation.get();
+        user = loader.apply(id);
+        if (generation.get() == before) {
+            if (user == null)
+                notFound.put(id, Boolean.TRUE);
+            else
+                users.put(id, UserMapper.INSTANCE.copy(user));
+            if (generation.get() != before) {
+                users.invalidate(id);
+                notFound.invalidate(id);
+            }
+        }
+        return user;
+    }
+
+    @Override
+    public void evict(Long id) {
+        generation.incrementAndGet();
+        users.invalidate(id);
+        notFound.invalidate(id);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        users.invalidateAll();
+        notFound.invalidateAll();
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), negativeHits.sum(), users.stats().evictionCount(), users.size());
+    }
+}
@@ -1,33 +1,99 @@
 package com.sample.spring.service.impl;
 
+import com.google.common.collect.Iterables;
+import com.sample.spring.dto.I18nKey;
 import com.sample.spring.entity.I18nEntity;
 import com.sample.spring.jackson.I18NProvider;
 import com.sample.spring.repository.I18nRepository;
 import com.sample.spring.service.I18nService;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+@Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class I18nServiceImpl implements I18nService, I18NProvider {
+    private static final String ACTIVE = "ACTIVE";
+    private static final int MAX_IN_KEYS = 500;
     private final I18nRepository repository;
+    private volatile I18nSnapshot snapshot = I18nSnapshot.EMPTY;
 
     @Override
     public String getMessage(String key, String type, String locale, String defaultMessage) {
         if (ObjectUtils.anyNull(key, type, locale))
             return defaultMessage;
+        I18nSnapshot current = this.snapshot;
+        if (current.isLoaded()) {
+            String message = current.get(new I18nKey(key, type, locale));
+            return message != null ? message : defaultMessage;
+        }
         I18nEntity entity = new I18nEntity();
         entity.setKey(key);
         entity.setType(type);
         entity.setLocale(locale);
-        entity.setStatus("ACTIVE");
+        entity.setStatus(ACTIVE);
         Optional<I18nEntity> nEntity = this.repository.findOne(Example.of(entity));
         if (nEntity.isPresent())
             return nEntity.get().getMessage();
         return defaultMessage;
     }
+
+    /**
+     * one {@code IN} query per {@value #MAX_IN_KEYS} distinct keys, type and locale are matched in memory
+     */
+    @Override
+    public Map<I18nKey, String> getMessages(Collection<I18nKey> keys) {
+        Map<I18nKey, String> messages = new HashMap<>();
+        I18nSnapshot current = this.snapshot;
+        Set<String> names = new HashSet<>();
+        for (I18nKey key : keys) {
+            messages.put(key, current.get(key));
+            if (!current.isLoaded() && key.getKey() != null && key.getType() != null && key.getLocale() != null)
+                names.add(key.getKey());
+        }
+        for (List<String> chunk : Iterables.partition(names, MAX_IN_KEYS)) {
+            for (I18nEntity entity : this.repository.findAllByStatusAndKeyIn(ACTIVE, chunk)) {
+                I18nKey key = new I18nKey(entity.getKey(), entity.getType(), entity.getLocale());
+                if (messages.containsKey(key) && messages.get(key) == null)
+                    messages.put(key, entity.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public boolean isPreloaded() {
+        return this.snapshot.isLoaded();
+    }
+
+    /**
+     * loads the active translations into memory, lookups stop hitting the database afterwards
+     */
+    public synchronized void reload() {
+        I18nRepository.Version version = this.repository.findVersionByStatus(ACTIVE);
+        List<I18nEntity> entities = this.repository.findAllByStatus(ACTIVE);
+        this.snapshot = I18nSnapshot.of(entities, version);
+        log.info("loaded {} i18n messages", this.snapshot.size());
+    }
+
+    /**
+     * reloads when the version probe changed or the snapshot is older than {@code maxAge} millis
+     */
+    public synchronized void refresh(long maxAge) {
+        I18nSnapshot current = this.snapshot;
+        boolean expired = maxAge > 0 && System.currentTimeMillis() - current.getLoadedAt() >= maxAge;
+        if (!current.isLoaded() || expired || !current.isSameVersion(this.repository.findVersionByStatus(ACTIVE)))
+            reload();
+    }
 }
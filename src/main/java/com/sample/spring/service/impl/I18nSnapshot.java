@@ -0,0 +1,61 @@
+package com.sample.spring.service.impl;
+
+import com.sample.spring.dto.I18nKey;
+import com.sample.spring.entity.I18nEntity;
+import com.sample.spring.repository.I18nRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of the active rows of the {@code i18n} table, swapped as a whole on refresh.
+ */
+final class I18nSnapshot {
+
+    static final I18nSnapshot EMPTY = new I18nSnapshot(Collections.emptyMap(), -1, 0, 0);
+
+    private final Map<I18nKey, String> messages;
+    private final long count;
+    private final long lastModified;
+    private final long loadedAt;
+
+    private I18nSnapshot(Map<I18nKey, String> messages, long count, long lastModified, long loadedAt) {
+        this.messages = messages;
+        this.count = count;
+        this.lastModified = lastModified;
+        this.loadedAt = loadedAt;
+    }
+
+    static I18nSnapshot of(Collection<I18nEntity> entities, I18nRepository.Version version) {
+        Map<I18nKey, String> messages = new HashMap<>(Math.max(16, entities.size() * 4 / 3 + 1));
+        for (I18nEntity entity : entities)
+            messages.putIfAbsent(new I18nKey(entity.getKey(), entity.getType(), entity.getLocale()), entity.getMessage());
+        return new I18nSnapshot(Collections.unmodifiableMap(messages), version.getCount(), lastModified(version), System.currentTimeMillis());
+    }
+
+    boolean isLoaded() {
+        return this != EMPTY;
+    }
+
+    String get(I18nKey key) {
+        return messages.get(key);
+    }
+
+    int size() {
+        return messages.size();
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    boolean isSameVersion(I18nRepository.Version version) {
+        return version != null && count == version.getCount() && lastModified == lastModified(version);
+    }
+
+    private static long lastModified(I18nRepository.Version version) {
+        return version.getLastModified() == null ? 0 : version.getLastModified().getTime();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sample.spring.service.impl;
+
+import com.sample.spring.dto.UserDto;
+import com.sample.spring.service.UserCache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * {@code custom.user.cache.enable=false}: every lookup goes to the loader.
+ */
+public class NoOpUserCache implements UserCache {
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public UserDto get(Long id, Function<Long, UserDto> loader) {
+        misses.increment();
+        return loader.apply(id);
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(0, misses.sum(), 0, 0, 0);
+    }
+}
@@ -1,33 +1,70 @@
 package com.sample.spring.service.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.spring.concurrent.ContextExecutors;
+import com.sample.spring.config.UserProperties;
 import com.sample.spring.conts.BizErrorCode;
+import com.sample.spring.dto.UserBatchResultDto;
 import com.sample.spring.dto.UserDto;
 import com.sample.spring.entity.UserEntity;
 import com.sample.spring.exception.BizException;
 import com.sample.spring.mapper.UserMapper;
 import com.sample.spring.repository.UserRepository;
+import com.sample.spring.service.UserCache;
 import com.sample.spring.service.UserService;
+import com.sample.spring.util.CursorUtil;
+import com.sample.spring.web.vo.request.RequestCursorVO;
 import com.sample.spring.web.vo.request.RequestPageableVO;
+import com.sample.spring.web.vo.request.UserRequestVo;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
     private final RestTemplate template;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final UserProperties userProperties;
+    private final UserCache userCache;
 
     @Override
     public void save(UserDto dto) {
         UserEntity entity = this.repository.save(UserMapper.INSTANCE.dtoToEntity(dto));
         dto.setId(String.valueOf(entity.getId()));
+        evict(entity.getId());
     }
 
     @Override
@@ -35,23 +72,151 @@ public class UserServiceImpl implements UserService {
         UserEntity entity = this.repository.getById(Long.valueOf(id));
         entity.setUsername(username);
         this.repository.save(entity);
+        evict(entity.getId());
     }
 
     @Override
-    public Page<UserDto> findByUsers(RequestPageableVO request) {
-        ResponseEntity<Object> forEntity = template.getForEntity("http://localhost:8080/api/users/50", Object.class);
+    public CompletableFuture<Page<UserDto>> findByUsers(RequestPageableVO request) {
+        CompletableFuture<ResponseEntity<Object>> forEntity = ContextExecutors.supplyAsync(
+                () -> template.getForEntity("http://localhost:8080/api/users/50", Object.class), applicationTaskExecutor);
         UserEntity entity = new UserEntity();
         entity.setStatus("ACTIVE");
         Page<UserEntity> entityPage = this.repository.findAll(Example.of(entity), Pageable.ofSize(request.getRpp()).withPage(request.getPage() - 1));
-        return new PageImpl<>(UserMapper.INSTANCE.entityToDtoList(entityPage.getContent()), PageRequest.of(request.getPage() - 1, request.getRpp()), entityPage.getTotalElements());
+        Page<UserDto> page = new PageImpl<>(UserMapper.INSTANCE.entityToDtoList(entityPage.getContent()), PageRequest.of(request.getPage() - 1, request.getRpp()), entityPage.getTotalElements());
+        return forEntity.thenApply(response -> page);
+    }
+
+    @SneakyThrows
+    @Override
+    public Slice<UserDto> findByUsers(RequestCursorVO request) {
+        long after;
+        try {
+            after = CursorUtil.decode(request.getAfter());
+        } catch (IllegalArgumentException e) {
+            throw new BizException(BizErrorCode.E0005);
+        }
+        Slice<UserEntity> entitySlice = this.repository.findByStatusAndIdGreaterThanOrderByIdAsc("ACTIVE", after, PageRequest.ofSize(request.getRpp()));
+        return new SliceImpl<>(UserMapper.INSTANCE.entityToDtoList(entitySlice.getContent()), entitySlice.getPageable(), entitySlice.hasNext());
+    }
+
+    @Override
+    public void exportUsers(Consumer<UserDto> consumer) {
+        try (Stream<UserEntity> users = this.repository.streamByStatus("ACTIVE")) {
+            users.forEach(entity -> {
+                consumer.accept(UserMapper.INSTANCE.entityToDto(entity));
+                this.entityManager.detach(entity);
+            });
+        }
+    }
+
+    @SneakyThrows
+    @Override
+    public UserBatchResultDto importUsers(InputStream inputStream) {
+        UserBatchResultDto result = new UserBatchResultDto();
+        int chunkSize = Math.max(1, this.userProperties.getBatch().getChunkSize());
+        List<UserDto> chunk = new ArrayList<>(chunkSize);
+        List<UserBatchResultDto.Item> chunkItems = new ArrayList<>(chunkSize);
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new BizException(BizErrorCode.E0006);
+            int index = 0;
+            for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                if (index >= this.userProperties.getBatch().getMaxItems()) {
+                    result.add(index, null).failed(UserBatchResultDto.REJECTED, String.format("batch limit of %d items exceeded, the remaining elements were not read", this.userProperties.getBatch().getMaxItems()));
+                    break;
+                }
+                UserRequestVo vo = readItem(parser);
+                UserBatchResultDto.Item item = result.add(index, vo == null ? null : vo.getUsername());
+                List<String> errors = validate(vo);
+                if (!errors.isEmpty()) {
+                    item.failed(UserBatchResultDto.INVALID, errors);
+                    continue;
+                }
+                chunk.add(UserMapper.INSTANCE.voToDto(vo));
+                chunkItems.add(item);
+                if (chunk.size() == chunkSize)
+                    persistChunk(chunk, chunkItems);
+            }
+            persistChunk(chunk, chunkItems);
+        }
+        result.summarize();
+        return result;
+    }
+
+    /**
+     * one element as a tree so a malformed element does not leave the parser in the middle of it
+     */
+    private UserRequestVo readItem(JsonParser parser) throws IOException {
+        JsonNode node = parser.readValueAsTree();
+        if (node == null || !node.isObject())
+            return null;
+        try {
+            return this.objectMapper.treeToValue(node, UserRequestVo.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private List<String> validate(UserRequestVo vo) {
+        if (vo == null)
+            return Collections.singletonList("element is not a valid user object");
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<UserRequestVo> violation : this.validator.validate(vo))
+            errors.add(String.format("Field `%s` %s", violation.getPropertyPath(), violation.getMessage()));
+        return errors;
+    }
+
+    /**
+     * ids come from the pooled sequence, so the inserts of a chunk go out as jdbc batches on flush
+     */
+    private void persistChunk(List<UserDto> chunk, List<UserBatchResultDto.Item> items) {
+        if (chunk.isEmpty()) return;
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                for (UserDto dto : chunk) {
+                    UserEntity entity = UserMapper.INSTANCE.dtoToEntity(dto);
+                    this.entityManager.persist(entity);
+                    dto.setId(String.valueOf(entity.getId()));
+                    evict(entity.getId());
+                }
+                this.entityManager.flush();
+                this.entityManager.clear();
+            });
+            for (int i = 0; i < chunk.size(); i++)
+                items.get(i).created(chunk.get(i).getId());
+        } catch (RuntimeException e) {
+            log.error("user batch chunk of {} failed {}", chunk.size(), e.getMessage());
+            String error = ExceptionUtils.getRootCauseMessage(e);
+            for (UserBatchResultDto.Item item : items)
+                item.failed(UserBatchResultDto.FAILED, error);
+        } finally {
+            chunk.clear();
+            items.clear();
+        }
     }
 
     @SneakyThrows
     @Override
     public UserDto findById(String id) {
-        Optional<UserEntity> user = this.repository.findById(Long.valueOf(id));
-        if (user.isEmpty())
+        UserDto user = this.userCache.get(Long.valueOf(id), key -> this.repository.findById(key).map(UserMapper.INSTANCE::entityToDto).orElse(null));
+        if (user == null)
             throw new BizException(BizErrorCode.E0002);
-        return UserMapper.INSTANCE.entityToDto(user.get());
+        return user;
+    }
+
+    /**
+     * evicts now and, inside a transaction, once more after commit so a concurrent read cannot
+     * cache the row as it was before the commit
+     */
+    private void evict(Long id) {
+        this.userCache.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userCache.evict(id);
+                }
+            });
+        }
     }
 }
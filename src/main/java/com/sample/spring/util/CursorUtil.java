@@ -0,0 +1,33 @@
+package com.sample.spring.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the last seen id, versioned and url-safe base64 encoded.
+ */
+public final class CursorUtil {
+    private static final String PREFIX = "v1:";
+
+    private CursorUtil() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the id encoded in {@code cursor}, {@code 0} for an empty cursor (first page)
+     * @throws IllegalArgumentException when the cursor was not built by {@link #encode(long)}
+     */
+    public static long decode(String cursor) {
+        if (StringUtils.isBlank(cursor))
+            return 0L;
+        String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+        if (!value.startsWith(PREFIX))
+            throw new IllegalArgumentException("unknown cursor " + cursor);
+        return Long.parseLong(value.substring(PREFIX.length()));
+    }
+}
@@ -16,6 +16,8 @@ import java.util.regex.Pattern;
 
 public final class StringUtil extends StringUtils {
 
+    private static final Random RANDOM = new SecureRandom();
+
     public static String buildURL(String url) {
         if (StringUtils.isNotEmpty(url))
             return isValidURL(url) ? url : String.format("%s://%s", "http", url);
@@ -147,10 +149,9 @@ public final class StringUtil extends StringUtils {
     public static String random(int tokenLength, String tokenFormat) {
         Assert.isTrue(0 < tokenLength, "Token length can not less then zero");
         if (StringUtils.isEmpty(tokenFormat)) throw new IllegalArgumentException("Token format is required");
-        Random random = new SecureRandom();
-        StringBuilder msg = new StringBuilder();
+        char[] chars = new char[tokenLength];
         for (int i = 0; i < tokenLength; i++)
-            msg.append(tokenFormat.charAt(random.nextInt(tokenFormat.length())));
-        return msg.toString().trim();
+            chars[i] = tokenFormat.charAt(RANDOM.nextInt(tokenFormat.length()));
+        return new String(chars).trim();
     }
 }
@@ -1,27 +1,45 @@
 package com.sample.spring.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sample.spring.concurrent.ContextSnapshot;
+import com.sample.spring.dto.UserBatchResultDto;
 import com.sample.spring.dto.UserDto;
 import com.sample.spring.mapper.UserMapper;
 import com.sample.spring.service.UserService;
+import com.sample.spring.util.CursorUtil;
+import com.sample.spring.web.vo.request.RequestCursorVO;
 import com.sample.spring.web.vo.request.RequestPageableVO;
 import com.sample.spring.web.vo.request.UserRequestVo;
+import com.sample.spring.web.vo.response.ResponseCursorVO;
 import com.sample.spring.web.vo.response.ResponsePageableVO;
 import com.sample.spring.web.vo.response.ResponseVO;
 import com.sample.spring.web.vo.response.ResponseVOBuilder;
 import com.sample.spring.web.vo.response.UserResponseVo;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("api/users")
 @AllArgsConstructor
 public class UserController {
+    private static final int EXPORT_FLUSH_ROWS = 200;
     private final UserService service;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("{id}")
     public ResponseVO<UserResponseVo> getUserById(@PathVariable String id) {
@@ -29,12 +47,65 @@ public class UserController {
         return new ResponseVOBuilder<UserResponseVo>().addData(UserMapper.INSTANCE.dtoToVo(user)).build();
     }
 
+    /**
+     * completes asynchronously, the Tomcat thread is released while the downstream call runs and no
+     * thread waits for it
+     */
     @GetMapping
-    public ResponseVO<ResponsePageableVO<UserResponseVo>> getUsers(RequestPageableVO request) {
-        Page<UserDto> page = this.service.findByUsers(request);
-        List<UserResponseVo> users = UserMapper.INSTANCE.dtoToVoList(page.getContent());
-        ResponsePageableVO<UserResponseVo> responseVo = new ResponsePageableVO<>(page.getTotalElements(), users, request);
-        return new ResponseVOBuilder<ResponsePageableVO<UserResponseVo>>().addData(responseVo).build();
+    public CompletableFuture<ResponseVO<ResponsePageableVO<UserResponseVo>>> getUsers(RequestPageableVO request) {
+        return this.service.findByUsers(request).thenApply(ContextSnapshot.capture().wrap(page -> {
+            List<UserResponseVo> users = UserMapper.INSTANCE.dtoToVoList(page.getContent());
+            ResponsePageableVO<UserResponseVo> responseVo = new ResponsePageableVO<>(page.getTotalElements(), users, request);
+            return new ResponseVOBuilder<ResponsePageableVO<UserResponseVo>>().addData(responseVo).build();
+        }));
+    }
+
+    /**
+     * keyset paging when an {@code after} cursor is given, no count query whatever the depth
+     */
+    @GetMapping(params = "after")
+    public ResponseVO<ResponseCursorVO<UserResponseVo>> getUsers(RequestCursorVO request) {
+        Slice<UserDto> slice = this.service.findByUsers(request);
+        List<UserDto> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty() ? CursorUtil.encode(Long.parseLong(content.get(content.size() - 1).getId())) : null;
+        ResponseCursorVO<UserResponseVo> responseVo = new ResponseCursorVO<>(UserMapper.INSTANCE.dtoToVoList(content), next, request.getRpp());
+        return new ResponseVOBuilder<ResponseCursorVO<UserResponseVo>>().addData(responseVo).build();
+    }
+
+    /**
+     * all active users as NDJSON, written row by row while the database cursor is read
+     */
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = this.objectMapper.writerFor(UserResponseVo.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] rows = {0};
+                this.service.exportUsers(user -> {
+                    try {
+                        writer.writeValue(generator, UserMapper.INSTANCE.dtoToVo(user));
+                        generator.writeRaw('\n');
+                        if (++rows[0] % EXPORT_FLUSH_ROWS == 0)
+                            generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * bulk insert of a JSON array of users, the body is read element by element
+     */
+    @PostMapping(value = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseVO<UserBatchResultDto> saveBatch(HttpServletRequest request) throws IOException {
+        UserBatchResultDto result = this.service.importUsers(request.getInputStream());
+        return new ResponseVOBuilder<UserBatchResultDto>().addData(result).build();
     }
 
     @PostMapping
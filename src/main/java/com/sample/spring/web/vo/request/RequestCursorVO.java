@@ -0,0 +1,33 @@
+package com.sample.spring.web.vo.request;
+
+/**
+ * Keyset paging: {@code after} is the cursor returned with the previous slice, empty for the first one.
+ */
+public class RequestCursorVO {
+    public RequestCursorVO() {
+    }
+
+    public RequestCursorVO(String after, Integer rpp) {
+        this.after = after;
+        this.rpp = rpp;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    public Integer getRpp() {
+        return rpp;
+    }
+
+    public void setRpp(Integer rpp) {
+        this.rpp = rpp;
+    }
+
+    private String after;
+    private Integer rpp = RequestPageableVO.DEFAULT_RPP;
+}
@@ -0,0 +1,42 @@
+package com.sample.spring.web.vo.response;
+
+import java.util.List;
+
+/**
+ * A slice of items without a total, {@code next} is the cursor of the following slice or null on the last one.
+ */
+public class ResponseCursorVO<T> {
+    private List<T> items;
+    private String next;
+    private String rpp;
+
+    public ResponseCursorVO(List<T> items, String next, int rpp) {
+        this.items = items;
+        this.next = next;
+        this.rpp = String.valueOf(rpp);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public String getRpp() {
+        return rpp;
+    }
+
+    public void setRpp(String rpp) {
+        this.rpp = rpp;
+    }
+}
@@ -0,0 +1,4 @@
+-- UserEntity allocates ids from users_id_seq in blocks of 50 (@SequenceGenerator allocationSize = 50),
+-- the sequence has to step by the same amount or Hibernate refuses to start on the increment mismatch.
+-- Run once against existing databases before deploying.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
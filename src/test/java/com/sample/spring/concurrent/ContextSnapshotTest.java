@@ -0,0 +1,89 @@
+package com.sample.spring.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextSnapshotTest {
+
+    private static final ContextKey<String> TRACE = ContextKey.of("context-snapshot-test.trace", String.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        ThreadContextHolder.clear();
+        InheritableContextHolder.clear();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void wrappedTaskSeesTheContextOfTheSubmittingThread() throws Exception {
+        ThreadContextHolder.set(TRACE, "trace-1");
+        InheritableContextHolder.setString("tenant", "acme");
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+
+        String seen = ContextExecutors.wrap(executor)
+                .submit(() -> ThreadContextHolder.get(TRACE) + "/" + InheritableContextHolder.getString("tenant") + "/" + LocaleContextHolder.getLocale())
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(seen).isEqualTo("trace-1/acme/fr");
+    }
+
+    @Test
+    void pooledThreadIsRestoredAfterTheTask() throws Exception {
+        ThreadContextHolder.set(TRACE, "trace-2");
+        ContextExecutors.wrap(executor).submit(() -> ThreadContextHolder.setString("written", "by task")).get(5, TimeUnit.SECONDS);
+
+        assertThat(executor.submit(() -> ThreadContextHolder.get(TRACE)).get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(executor.submit(() -> ThreadContextHolder.getString("written")).get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(ThreadContextHolder.getString("written")).isNull();
+    }
+
+    @Test
+    void writesInTheTaskDoNotLeakIntoTheSnapshot() throws Exception {
+        ThreadContextHolder.set(TRACE, "trace-3");
+        ContextSnapshot snapshot = ContextSnapshot.capture();
+
+        executor.submit(snapshot.wrap(() -> ThreadContextHolder.set(TRACE, "changed"))).get(5, TimeUnit.SECONDS);
+        String seen = executor.submit(snapshot.wrap((Callable<String>) () -> ThreadContextHolder.get(TRACE))).get(5, TimeUnit.SECONDS);
+
+        assertThat(seen).isEqualTo("trace-3");
+    }
+
+    @Test
+    void completableFutureStagesRunWithTheCapturedContext() throws Exception {
+        ThreadContextHolder.set(TRACE, "trace-4");
+        ContextSnapshot snapshot = ContextSnapshot.capture();
+
+        String seen = ContextExecutors.supplyAsync(() -> ThreadContextHolder.get(TRACE), executor)
+                .thenApplyAsync(snapshot.wrap(value -> value + "/" + ThreadContextHolder.get(TRACE)), executor)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(seen).isEqualTo("trace-4/trace-4");
+    }
+
+    @Test
+    void taskExceptionStillRestoresTheThread() {
+        ThreadContextHolder.set(TRACE, "trace-5");
+        Runnable failing = ContextSnapshot.capture().wrap((Runnable) () -> {
+            throw new IllegalStateException("boom");
+        });
+        ThreadContextHolder.clear();
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(failing, executor);
+
+        assertThat(future).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(CompletableFuture.supplyAsync(() -> ThreadContextHolder.get(TRACE), executor).join()).isNull();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sample.spring.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class InheritableContextHolderTest {
+
+    @AfterEach
+    void clear() {
+        InheritableContextHolder.clear();
+    }
+
+    @Test
+    void childThreadGetsAnIndependentCopy() throws InterruptedException {
+        InheritableContextHolder.setString("tenant", "acme");
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        Thread child = new Thread(() -> {
+            seen.set(InheritableContextHolder.getString("tenant"));
+            InheritableContextHolder.setString("tenant", "globex");
+        });
+        child.start();
+        child.join();
+
+        assertThat(seen).hasValue("acme");
+        assertThat(InheritableContextHolder.getString("tenant")).isEqualTo("acme");
+    }
+
+    @Test
+    void emptyValuesAreIgnored() {
+        InheritableContextHolder.setObject("tenant", null);
+        InheritableContextHolder.setObject("", "acme");
+
+        assertThat(InheritableContextHolder.getObject("tenant")).isNull();
+        assertThat(InheritableContextHolder.containsKey("")).isFalse();
+    }
+
+    @Test
+    void threadPerTaskExecutorRunsEveryTask() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("context-test-");
+        try {
+            String name = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+            assertThat(name).startsWith("context-test-");
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void noPlatformThreadFallbackWithoutVirtualThreads() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("context-test-"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.sample.spring.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestContextTest {
+
+    private static final ContextKey<String> TENANT = ContextKey.of("request-context-test.tenant", String.class);
+    private static final ContextKey<Long> USER_ID = ContextKey.of("request-context-test.user-id", Long.class);
+
+    @Test
+    void stringKeysShareTheSlotOfARegisteredKey() {
+        RequestContext context = new RequestContext();
+        context.put(TENANT, "acme");
+
+        assertThat(context.get("request-context-test.tenant")).isEqualTo("acme");
+
+        context.put("request-context-test.tenant", "globex");
+        assertThat(context.get(TENANT)).isEqualTo("globex");
+        assertThat(context.size()).isEqualTo(1);
+    }
+
+    @Test
+    void valueOfAnotherTypeIsKeptUnderThePlainName() {
+        RequestContext context = new RequestContext();
+        context.put(USER_ID, 7L);
+
+        assertThat(context.put("request-context-test.user-id", "7")).isEqualTo(7L);
+        assertThat(context.get(USER_ID)).isNull();
+        assertThat(context.get("request-context-test.user-id")).isEqualTo("7");
+        assertThat(context.size()).isEqualTo(1);
+
+        assertThat(context.put(USER_ID, 8L)).isNull();
+        assertThat(context.get("request-context-test.user-id")).isEqualTo(8L);
+        assertThat(context.size()).isEqualTo(1);
+
+        context.put("request-context-test.user-id", "9");
+        assertThat(context.remove("request-context-test.user-id")).isEqualTo("9");
+        assertThat(context.isEmpty()).isTrue();
+    }
+
+    @Test
+    void plainKeysAreStoredAndRemoved() {
+        RequestContext context = new RequestContext();
+        for (int i = 0; i < 10; i++)
+            context.put("key-" + i, i);
+
+        assertThat(context.size()).isEqualTo(10);
+        assertThat(context.remove("key-3")).isEqualTo(3);
+        assertThat(context.get("key-3")).isNull();
+        assertThat(context.get("key-9")).isEqualTo(9);
+        assertThat(context.put("key-9", null)).isEqualTo(9);
+        assertThat(context.size()).isEqualTo(8);
+    }
+
+    @Test
+    void snapshotIsReadOnlyAndIndependent() {
+        RequestContext context = new RequestContext();
+        context.put(TENANT, "acme");
+        context.put("plain", "value");
+
+        RequestContext snapshot = context.snapshot();
+        context.put(TENANT, "globex");
+
+        assertThat(snapshot.get(TENANT)).isEqualTo("acme");
+        assertThat(snapshot.get("plain")).isEqualTo("value");
+        assertThat(snapshot.snapshot()).isSameAs(snapshot);
+        assertThatThrownBy(() -> snapshot.put("plain", "other")).isInstanceOf(IllegalStateException.class);
+        assertThat(snapshot.copy().isShared()).isFalse();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sample.spring.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientPoolMetricsTest {
+
+    @Test
+    void recordsLeaseWaitsAndTimeoutsSeparately() {
+        HttpClientPoolMetrics metrics = new HttpClientPoolMetrics();
+
+        metrics.record(2_000_000, false);
+        metrics.record(4_000_000, false);
+        metrics.record(9_000_000, true);
+
+        assertThat(metrics.getLeaseCount()).isEqualTo(2);
+        assertThat(metrics.getLeaseTimeoutCount()).isEqualTo(1);
+        assertThat(metrics.getAverageWaitMillis()).isEqualTo(3.0);
+        assertThat(metrics.getMaxWaitMillis()).isEqualTo(4.0);
+    }
+
+    @Test
+    void exposesPoolStatsOnceBoundToAConnectionManager() {
+        HttpClientPoolMetrics metrics = new HttpClientPoolMetrics();
+        assertThat(metrics.getPoolStats()).isNull();
+        assertThat(metrics.getAverageWaitMillis()).isZero();
+
+        HttpClientPoolMetrics.TimedConnectionManager manager = new HttpClientPoolMetrics.TimedConnectionManager(metrics);
+        manager.setMaxTotal(7);
+
+        assertThat(metrics.getPoolStats().getMax()).isEqualTo(7);
+        manager.shutdown();
+    }
+}
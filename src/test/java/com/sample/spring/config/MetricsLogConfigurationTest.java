@@ -0,0 +1,60 @@
+package com.sample.spring.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sample.spring.service.UserCache;
+import com.sample.spring.service.impl.GuavaUserCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsLogConfigurationTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(MetricsLogConfiguration.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    MetricsLogConfigurationTest() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsThePoolLeaseWaitsAndAgainOnShutdown() {
+        HttpClientPoolMetrics metrics = new HttpClientPoolMetrics();
+        metrics.record(2_000_000, false);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("httpClientPoolMetrics", metrics);
+        MetricsLogConfiguration configuration = new MetricsLogConfiguration(beans.getBeanProvider(HttpClientPoolMetrics.class), beans.getBeanProvider(UserCache.class));
+
+        configuration.report();
+        configuration.destroy();
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("http client pool leases=1, timeouts=0, avgWait=2.000ms"));
+    }
+
+    @Test
+    void logsTheUserCacheStatistics() {
+        GuavaUserCache cache = new GuavaUserCache(new UserProperties.Cache());
+        cache.get(1L, id -> null);
+        cache.get(1L, id -> null);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("userCache", cache);
+        MetricsLogConfiguration configuration = new MetricsLogConfiguration(beans.getBeanProvider(HttpClientPoolMetrics.class), beans.getBeanProvider(UserCache.class));
+
+        configuration.report();
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("user cache hits=0, negativeHits=1, misses=1, hitRate=0.500, evictions=0, size=0");
+    }
+}
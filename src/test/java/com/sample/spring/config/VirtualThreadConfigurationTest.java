@@ -0,0 +1,30 @@
+package com.sample.spring.config;
+
+import com.sample.spring.concurrent.VirtualThreads;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfiguration.class);
+
+    @Test
+    void executorsAreOverriddenOnlyWhenVirtualThreadsExist() {
+        runner.withPropertyValues("custom.thread.virtual=true").run(context -> {
+            if (VirtualThreads.isSupported())
+                assertThat(context).hasSingleBean(ExecutorService.class);
+            else
+                assertThat(context).hasNotFailed().doesNotHaveBean(ExecutorService.class);
+        });
+    }
+
+    @Test
+    void disabledByDefault() {
+        runner.run(context -> assertThat(context).doesNotHaveBean(ExecutorService.class));
+    }
+}
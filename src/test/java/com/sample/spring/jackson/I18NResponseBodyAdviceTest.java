@@ -0,0 +1,107 @@
+package com.sample.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.spring.dto.I18nKey;
+import com.sample.spring.jackson.annotation.I18NProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class I18NResponseBodyAdviceTest {
+
+    private final CountingProvider provider = new CountingProvider();
+    private final I18NResponseBodyAdvice advice = new I18NResponseBodyAdvice(provider);
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new I18NModule(provider));
+
+    @BeforeEach
+    void bindRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void resolvesTheWholeBodyWithOneLookup() throws Exception {
+        Page body = new Page(Arrays.asList(new Item("1", "one"), new Item("2", "two"), new Item("1", "one")));
+
+        Object written = advice.beforeBodyWrite(body, null, null, null, null, null);
+        String json = mapper.writeValueAsString(written);
+
+        assertThat(json).isEqualTo("{\"items\":[{\"id\":\"1\",\"name\":\"name-1\"},{\"id\":\"2\",\"name\":\"two\"},{\"id\":\"1\",\"name\":\"name-1\"}]}");
+        assertThat(provider.batches).containsExactly(2);
+        assertThat(provider.singles).isZero();
+    }
+
+    @Test
+    void preloadedProviderIsAskedPerProperty() throws Exception {
+        provider.preloaded = true;
+
+        String json = mapper.writeValueAsString(advice.beforeBodyWrite(new Item("1", "one"), null, null, null, null, null));
+
+        assertThat(json).isEqualTo("{\"id\":\"1\",\"name\":\"name-1\"}");
+        assertThat(provider.batches).isEmpty();
+        assertThat(provider.singles).isEqualTo(1);
+    }
+
+    public static class Page {
+        public final List<Item> items;
+
+        Page(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    public static class Item {
+        public final String id;
+        @I18NProperty(type = "status")
+        public final String name;
+
+        Item(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static class CountingProvider implements I18NProvider {
+
+        private final List<Integer> batches = new ArrayList<>();
+        private int singles;
+        private boolean preloaded;
+
+        @Override
+        public String getMessage(String key, String type, String locale, String defaultMessage) {
+            singles++;
+            return "1".equals(key) ? "name-1" : defaultMessage;
+        }
+
+        @Override
+        public Map<I18nKey, String> getMessages(Collection<I18nKey> keys) {
+            batches.add(keys.size());
+            Map<I18nKey, String> messages = new HashMap<>();
+            for (I18nKey key : keys)
+                messages.put(key, "1".equals(key.getKey()) ? "name-1" : null);
+            return Collections.unmodifiableMap(messages);
+        }
+
+        @Override
+        public boolean isPreloaded() {
+            return preloaded;
+        }
+    }
+}
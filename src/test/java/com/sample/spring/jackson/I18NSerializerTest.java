@@ -0,0 +1,75 @@
+package com.sample.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.spring.jackson.annotation.I18NProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class I18NSerializerTest {
+
+    private final List<String> lookups = new ArrayList<>();
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new I18NModule((key, type, locale, defaultMessage) -> {
+        lookups.add(key + "/" + type + "/" + locale);
+        return "1".equals(key) ? "translated-" + locale : defaultMessage;
+    }));
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void translatesWithTheKeyOfTheFieldIdProperty() throws Exception {
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+
+        String json = mapper.writeValueAsString(new Item("1", "fallback", "fixed"));
+
+        assertThat(json).isEqualTo("{\"id\":\"1\",\"name\":\"translated-fr\",\"label\":\"translated-km\"}");
+        assertThat(lookups).containsExactly("1/status/fr", "1/label/km");
+    }
+
+    @Test
+    void fallsBackToTheValueWithoutATranslation() throws Exception {
+        String json = mapper.writeValueAsString(new Item("2", "fallback", "fixed"));
+
+        assertThat(json).isEqualTo("{\"id\":\"2\",\"name\":\"fallback\",\"label\":\"fixed\"}");
+    }
+
+    @Test
+    void unknownFieldIdKeepsTheValue() throws Exception {
+        String json = mapper.writeValueAsString(new Broken("value"));
+
+        assertThat(json).isEqualTo("{\"name\":\"value\"}");
+        assertThat(lookups).isEmpty();
+    }
+
+    static class Item {
+        public final String id;
+        @I18NProperty(type = "status")
+        public final String name;
+        @I18NProperty(type = "label", locale = "KM")
+        public final String label;
+
+        Item(String id, String name, String label) {
+            this.id = id;
+            this.name = name;
+            this.label = label;
+        }
+    }
+
+    static class Broken {
+        @I18NProperty(type = "status", fieldId = "missing")
+        public final String name;
+
+        Broken(String name) {
+            this.name = name;
+        }
+    }
+}
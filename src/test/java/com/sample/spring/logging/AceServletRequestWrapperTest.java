@@ -0,0 +1,65 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AceServletRequestWrapperTest {
+
+    private static final byte[] BODY = "{\"name\":\"sample\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void fullModeReplaysTheBodyOnEveryRead() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent(BODY);
+        AceServletRequestWrapper wrapper = new AceServletRequestWrapper(request);
+
+        assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream())).isEqualTo(BODY);
+        assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream())).isEqualTo(BODY);
+        assertThat(wrapper.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(wrapper.getContentSize()).isEqualTo(BODY.length);
+    }
+
+    @Test
+    void fullModeDoesNotTrustALargeContentLength() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users") {
+            @Override
+            public long getContentLengthLong() {
+                return Integer.MAX_VALUE - 16;
+            }
+        };
+        request.setContent(BODY);
+        AceServletRequestWrapper wrapper = new AceServletRequestWrapper(request);
+
+        assertThat(wrapper.getContent()).isEqualTo("{\"name\":\"sample\"}");
+    }
+
+    @Test
+    void boundedModeKeepsOnlyThePrefixAndStreamsTheRest() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent(BODY);
+        AceServletRequestWrapper wrapper = new AceServletRequestWrapper(request, BodyCaptureMode.BOUNDED, 8);
+
+        assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream())).isEqualTo(BODY);
+        assertThat(wrapper.getContent()).isEqualTo("{\"name\":");
+        assertThat(wrapper.isContentTruncated()).isTrue();
+        assertThat(wrapper.getContentSize()).isEqualTo(BODY.length);
+    }
+
+    @Test
+    void boundedModeHandsOutTheBodyOnlyOnce() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent(BODY);
+        AceServletRequestWrapper wrapper = new AceServletRequestWrapper(request, BodyCaptureMode.BOUNDED, 64);
+
+        assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream())).isEqualTo(BODY);
+        assertThat(StreamUtils.copyToByteArray(wrapper.getInputStream())).isEmpty();
+        assertThat(wrapper.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(wrapper.isContentTruncated()).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AceServletResponseWrapperTest {
+
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"sample\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void keepsOnlyThePrefixButWritesEverything() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AceServletResponseWrapper wrapper = new AceServletResponseWrapper(response, 8);
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        wrapper.getOutputStream().write(BODY, 0, 4);
+        wrapper.getOutputStream().write(BODY, 4, BODY.length - 4);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(wrapper.getContent()).isEqualTo("{\"id\":1,");
+        assertThat(wrapper.getContentSize()).isEqualTo(BODY.length);
+        assertThat(wrapper.isContentTruncated()).isTrue();
+    }
+
+    @Test
+    void writerGoesThroughTheSameTee() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AceServletResponseWrapper wrapper = new AceServletResponseWrapper(response, 1024);
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("{\"id\":1}");
+        writer.flush();
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(wrapper.getContent()).isEqualTo("{\"id\":1}");
+        assertThat(wrapper.isContentTruncated()).isFalse();
+    }
+
+    @Test
+    void resetDropsTheCapturedPrefix() throws IOException {
+        AceServletResponseWrapper wrapper = new AceServletResponseWrapper(new MockHttpServletResponse(), 8);
+        wrapper.getOutputStream().write(BODY);
+
+        wrapper.reset();
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        wrapper.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(wrapper.getContent()).isEqualTo("{}");
+        assertThat(wrapper.getContentSize()).isEqualTo(2);
+    }
+
+    @Test
+    void nonJsonBodiesAreNotLogged() throws IOException {
+        AceServletResponseWrapper wrapper = new AceServletResponseWrapper(new MockHttpServletResponse(), 8);
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.getOutputStream().write(BODY);
+
+        assertThat(wrapper.getContentAsByteArray()).isEmpty();
+        assertThat(wrapper.isContentTruncated()).isFalse();
+    }
+}
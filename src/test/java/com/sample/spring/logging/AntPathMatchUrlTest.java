@@ -0,0 +1,49 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AntPathMatchUrlTest {
+
+    private final AntPathMatchUrl matcher = new AntPathMatchUrl();
+
+    @Test
+    void matchesDefaultExclusions() {
+        assertThat(matcher.isIgnoreMatching("/swagger-ui.html")).isTrue();
+        assertThat(matcher.isIgnoreMatching("/actuator")).isTrue();
+        assertThat(matcher.isIgnoreMatching("/actuator/health")).isTrue();
+        assertThat(matcher.isIgnoreMatching("/actuatorx")).isFalse();
+        assertThat(matcher.isIgnoreMatching("/api/users")).isFalse();
+    }
+
+    @Test
+    void addedPatternsApplyToPathsMatchedBefore() {
+        assertThat(matcher.isIgnoreMatching("/api/users/1/avatar")).isFalse();
+
+        matcher.addMatching("/api/users/*/avatar", "", "/files/**/*.png");
+
+        assertThat(matcher.isIgnoreMatching("/api/users/1/avatar")).isTrue();
+        assertThat(matcher.isIgnoreMatching("/files/a/b/c.png")).isTrue();
+        assertThat(matcher.isIgnoreMatching("/files/a/b/c.jpg")).isFalse();
+        assertThat(matcher.getPatternMatching()).contains("/api/users/*/avatar").doesNotContain("");
+    }
+
+    @Test
+    void requestDecisionIsKeptOnTheRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/info");
+
+        assertThat(matcher.isIgnoreMatching(request)).isTrue();
+        request.setRequestURI("/api/users");
+        assertThat(matcher.isIgnoreMatching(request)).isTrue();
+    }
+
+    @Test
+    void ignoreFlagsApplyToEveryPath() {
+        matcher.setIgnoreResponse(true);
+
+        assertThat(matcher.isIgnoreResponse("/api/users")).isTrue();
+        assertThat(matcher.isIgnoreRequest("/api/users")).isFalse();
+    }
+}
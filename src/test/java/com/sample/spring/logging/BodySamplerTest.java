@@ -0,0 +1,59 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodySamplerTest {
+
+    @Test
+    void firstMatchingRuleWins() {
+        LoggingProperties.Sampling sampling = new LoggingProperties.Sampling();
+        sampling.setErrorStatus(0);
+        sampling.getRules().add(rule("GET", "/api/users/**", 0));
+        sampling.getRules().add(rule("*", "/api/**", 1));
+        BodySampler sampler = new BodySampler(sampling);
+
+        assertThat(sampler.sample("GET", "/api/users/1")).isEqualTo(BodySampler.Decision.SKIPPED);
+        assertThat(sampler.sample("POST", "/api/users/1")).isEqualTo(BodySampler.Decision.SAMPLED);
+        assertThat(sampler.sample("GET", "/health")).isEqualTo(BodySampler.Decision.SAMPLED);
+    }
+
+    @Test
+    void perSecondBudgetDefersTheRest() {
+        LoggingProperties.Sampling sampling = new LoggingProperties.Sampling();
+        sampling.setPerSecond(2);
+        BodySampler sampler = new BodySampler(sampling);
+
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            if (sampler.sample("GET", "/api/users") == BodySampler.Decision.SAMPLED)
+                sampled++;
+        }
+
+        assertThat(sampled).isBetween(2, 4);
+        assertThat(sampler.sample("GET", "/api/users")).isIn(BodySampler.Decision.SAMPLED, BodySampler.Decision.SKIPPED);
+    }
+
+    @Test
+    void deferredRequestsAreLoggedOnErrorOrSlowResponses() {
+        LoggingProperties.Sampling sampling = new LoggingProperties.Sampling();
+        sampling.setRate(0);
+        sampling.setErrorStatus(500);
+        sampling.setSlowThreshold(1000);
+        BodySampler sampler = new BodySampler(sampling);
+
+        assertThat(sampler.sample("GET", "/api/users")).isEqualTo(BodySampler.Decision.DEFERRED);
+        assertThat(sampler.isNotable(500, 10)).isTrue();
+        assertThat(sampler.isNotable(200, 1500)).isTrue();
+        assertThat(sampler.isNotable(404, 10)).isFalse();
+    }
+
+    private static LoggingProperties.SamplingRule rule(String method, String pattern, double rate) {
+        LoggingProperties.SamplingRule rule = new LoggingProperties.SamplingRule();
+        rule.setMethod(method);
+        rule.setPattern(pattern);
+        rule.setRate(rate);
+        return rule;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderPolicyTest {
+
+    @Test
+    void denyListIsCaseInsensitive() {
+        HeaderPolicy policy = HeaderPolicy.of("", "Authorization, cookie");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("authorization", "Bearer secret");
+        request.addHeader("Cookie", "session=1");
+        request.addHeader("Accept", "application/json");
+
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        policy.copy(request, headers);
+
+        assertThat(policy.getMode()).isEqualTo(HeaderPolicy.Mode.DENY);
+        assertThat(headers).containsOnlyKeys("Accept");
+    }
+
+    @Test
+    void allowListOnlyCopiesTheAllowedHeaders() {
+        HeaderPolicy policy = HeaderPolicy.of("content-type,X-Trace", "accept");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Content-Type", "application/json");
+        response.addHeader("Cache-Control", "no-cache");
+
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        policy.copy(response, headers);
+
+        assertThat(policy.getMode()).isEqualTo(HeaderPolicy.Mode.ALLOW);
+        assertThat(headers).containsOnlyKeys("content-type");
+        assertThat(headers.getFirst("content-type")).isEqualTo("application/json");
+    }
+
+    @Test
+    void clientHeadersFollowTheSamePolicy() {
+        HttpHeaders source = new HttpHeaders();
+        source.add("Authorization", "Bearer secret");
+        source.add("X-Trace", "abc");
+
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        HeaderPolicy.of(null, "authorization").copy(source, headers);
+
+        assertThat(headers).containsOnlyKeys("X-Trace");
+        assertThat(HeaderPolicy.of(null, null)).isSameAs(HeaderPolicy.ALL);
+        assertThat(HeaderPolicy.ALL.isLogged("anything")).isTrue();
+        assertThat(HeaderPolicy.ALL.isLogged(null)).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonCompactorTest {
+
+    @Test
+    void removesWhitespaceAndKeepsKeyOrderAndNumberLiterals() {
+        StringBuilder builder = new StringBuilder();
+
+        boolean truncated = JsonCompactor.append("{\n  \"b\" : 1.10,\n  \"a\" : [ 1e3, true, null ]\n}", builder, 1000);
+
+        assertThat(truncated).isFalse();
+        assertThat(builder).hasToString("{\"b\":1.10,\"a\":[1e3,true,null]}");
+    }
+
+    @Test
+    void stopsAtTheCharacterBudget() {
+        StringBuilder builder = new StringBuilder("body:");
+
+        boolean truncated = JsonCompactor.append("{\"name\": \"a long enough value\", \"other\": 1}", builder, 12);
+
+        assertThat(truncated).isTrue();
+        assertThat(builder).hasToString("body:{\"name\":\"a l");
+    }
+
+    @Test
+    void prefixOfABodyKeepsTheTokensReadSoFar() {
+        StringBuilder builder = new StringBuilder();
+
+        boolean truncated = JsonCompactor.append("{\"name\": \"sample\", \"ite", builder, 1000);
+
+        assertThat(truncated).isFalse();
+        assertThat(builder).hasToString("{\"name\":\"sample\"");
+    }
+
+    @Test
+    void malformedJsonFallsBackToText() {
+        StringBuilder builder = new StringBuilder("body:");
+
+        boolean truncated = JsonCompactor.append("{name: sample}", builder, 1000);
+
+        assertThat(truncated).isFalse();
+        assertThat(builder).hasToString("body:{name: sample}");
+    }
+
+    @Test
+    void plainTextIsTrimmedAndCut() {
+        StringBuilder builder = new StringBuilder();
+
+        assertThat(JsonCompactor.append("  plain text body  ", builder, 5)).isTrue();
+        assertThat(builder).hasToString("plain");
+        assertThat(JsonCompactor.append((String) null, builder, 5)).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRecordEncoderTest {
+
+    @Test
+    void textRequestLine() {
+        ServletContext context = context();
+
+        assertThat(encode(LogRecordEncoder.Format.TEXT, context))
+                .isEqualTo("REQUEST GET abc123, /api/users, 127.0.0.1, headers:accept[application/json,text/plain], parameter:page=1, body:{\"name\":\"sample\"}");
+    }
+
+    @Test
+    void jsonRequestLineEscapesValues() {
+        ServletContext context = context();
+        context.getRequestHeader().add("x-note", "say \"hi\"\n");
+
+        assertThat(encode(LogRecordEncoder.Format.JSON, context))
+                .isEqualTo("{\"type\":\"REQUEST\",\"method\":\"GET\",\"trace_id\":\"abc123\",\"endpoint\":\"/api/users\",\"remote\":\"127.0.0.1\","
+                        + "\"headers\":{\"accept\":[\"application/json\",\"text/plain\"],\"x-note\":[\"say \\\"hi\\\"\\n\"]},"
+                        + "\"parameter\":\"page=1\",\"body\":\"{\\\"name\\\":\\\"sample\\\"}\"}");
+    }
+
+    @Test
+    void keyValueResponseLineMarksTruncation() {
+        ServletContext context = new ServletContext("abc123", 2048, 4);
+        context.setEndpoint("/api/users");
+        context.setIp("127.0.0.1");
+        context.setResponseBody("{\"id\":12345}".getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder out = new StringBuilder();
+        boolean truncated = new LogRecordEncoder(LogRecordEncoder.Format.KEY_VALUE).appendResponse(out, "RESPONSE", context, 200);
+
+        assertThat(truncated).isTrue();
+        assertThat(out).hasToString("type=\"RESPONSE\" status=200 trace_id=abc123 endpoint=/api/users remote=127.0.0.1 body=\"{\\\"id\" truncated=true");
+    }
+
+    @Test
+    void emptyBodyAndHeadersAreLeftOut() {
+        ServletContext context = new ServletContext("abc123", 2048, 2048);
+        context.setMethod("DELETE");
+        context.setEndpoint("/api/users/1");
+        context.setIp("127.0.0.1");
+
+        assertThat(encode(LogRecordEncoder.Format.TEXT, context)).isEqualTo("REQUEST DELETE abc123, /api/users/1, 127.0.0.1");
+    }
+
+    @Test
+    void pooledBufferIsResetBetweenLines() {
+        StringBuilder first = LogRecordEncoder.buffer();
+        first.append("leftover");
+        assertThat(LogRecordEncoder.release(first)).isEqualTo("leftover");
+
+        assertThat(LogRecordEncoder.buffer()).isEmpty();
+    }
+
+    private static String encode(LogRecordEncoder.Format format, ServletContext context) {
+        StringBuilder out = new StringBuilder();
+        new LogRecordEncoder(format).appendRequest(out, "REQUEST", context);
+        return out.toString();
+    }
+
+    private static ServletContext context() {
+        ServletContext context = new ServletContext("abc123", 2048, 2048);
+        context.setMethod("GET");
+        context.setEndpoint("/api/users");
+        context.setIp("127.0.0.1");
+        context.setQueryParam("page=1");
+        context.getRequestHeader().add("accept", "application/json");
+        context.getRequestHeader().add("accept", "text/plain");
+        context.setRequestBody("{ \"name\" : \"sample\" }".getBytes(StandardCharsets.UTF_8));
+        return context;
+    }
+}
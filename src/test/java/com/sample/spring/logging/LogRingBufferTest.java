@@ -0,0 +1,67 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new LogRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new LogRingBuffer<String>(0).capacity()).isEqualTo(2);
+    }
+
+    @Test
+    void pollsInOfferOrderAndRejectsWhenFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++)
+            assertThat(buffer.offer(i)).isTrue();
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        for (int i = 1; i <= 4; i++)
+            assertThat(buffer.poll()).isEqualTo(i);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i))
+                        Thread.yield();
+                }
+                done.countDown();
+            });
+        }
+        Set<Integer> seen = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer value = buffer.poll();
+            if (value != null)
+                assertThat(seen.add(value)).isTrue();
+        }
+        executor.shutdownNow();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen).hasSize(producers * perProducer);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sample.spring.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingEventTest {
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void eventIsNotAffectedByLaterChangesOfTheContext() {
+        ServletContext context = new ServletContext("trace-1", 2048, 2048);
+        context.setMethod("GET");
+        context.setEndpoint("/api/users");
+        context.getRequestHeader().add("accept", "application/json");
+
+        LoggingEvent event = LoggingEvent.request(context);
+        context.setMethod("POST");
+        context.setEndpoint("/api/other");
+        context.getRequestHeader().add("x-late", "1");
+
+        assertThat(event.render()).contains("GET", "/api/users", "accept").doesNotContain("POST", "/api/other", "x-late");
+    }
+
+    @Test
+    void dispatcherWritesWithTheMdcOfThePublishingThread() throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger("logging-event-test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        LogDispatcher dispatcher = new LogDispatcher(logger, 16, LogDispatcher.OverflowPolicy.BLOCK, 1000).start();
+        try {
+            MDC.put("user", "sample");
+            dispatcher.dispatch(LoggingEvent.request(new ServletContext("trace-2", 2048, 2048)));
+            MDC.clear();
+        } finally {
+            dispatcher.destroy();
+        }
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("user", "sample");
+        assertThat(appender.list.get(0).getFormattedMessage()).contains("trace-2");
+    }
+}
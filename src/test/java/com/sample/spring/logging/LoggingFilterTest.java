@@ -0,0 +1,166 @@
+package com.sample.spring.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sample.spring.concurrent.ThreadContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("logging-filter-test");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final LoggingFilter filter;
+
+    LoggingFilterTest() {
+        appender.start();
+        logger.addAppender(appender);
+        filter = new LoggingFilter().dispatcher(new LogDispatcher(logger, 16, LogDispatcher.OverflowPolicy.BLOCK, 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsRequestAndResponseWithTheirBodies() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent("{ \"name\" : \"sample\" }".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletRequest> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain(new EchoServlet()) {
+            @Override
+            public void doFilter(ServletRequest request, javax.servlet.ServletResponse response) throws IOException, ServletException {
+                seen.set(request);
+                super.doFilter(request, response);
+            }
+        });
+
+        assertThat(seen.get()).isInstanceOf(AceServletRequestWrapper.class);
+        assertThat(response.getContentAsString()).isEqualTo("{ \"name\" : \"sample\" }");
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).satisfiesExactly(
+                line -> assertThat(line).startsWith("REQUEST POST").contains("/api/users", "body:{\"name\":\"sample\"}"),
+                line -> assertThat(line).startsWith("RESPONSE 200").contains("body:{\"name\":\"sample\"}"));
+        assertThat(ThreadContextHolder.get(LoggingFilter.TRACE_ID)).isNull();
+    }
+
+    @Test
+    void skippedRequestsAreNotBuffered() throws ServletException, IOException {
+        LoggingProperties.Sampling sampling = new LoggingProperties.Sampling();
+        sampling.setRate(0);
+        filter.sampler(new BodySampler(sampling));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent("{ \"name\" : \"sample\" }".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<AceServletRequestWrapper> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain(new EchoServlet()) {
+            @Override
+            public void doFilter(ServletRequest request, javax.servlet.ServletResponse response) throws IOException, ServletException {
+                seen.set((AceServletRequestWrapper) request);
+                super.doFilter(request, response);
+            }
+        });
+
+        assertThat(response.getContentAsString()).isEqualTo("{ \"name\" : \"sample\" }");
+        assertThat(seen.get().getContentAsByteArray()).isEmpty();
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).satisfiesExactly(
+                line -> assertThat(line).startsWith("REQUEST POST").doesNotContain("body:"),
+                line -> assertThat(line).startsWith("RESPONSE 200").doesNotContain("body:"));
+    }
+
+    @Test
+    void deferredRequestsCaptureOnlyTheBoundedPrefix() throws ServletException, IOException {
+        LoggingProperties.Sampling sampling = new LoggingProperties.Sampling();
+        sampling.setRate(0);
+        sampling.setErrorStatus(500);
+        filter.sampler(new BodySampler(sampling)).maxRequest(4);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent("{ \"name\" : \"sample\" }".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<AceServletRequestWrapper> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen.set((AceServletRequestWrapper) req);
+            StreamUtils.copyToByteArray(req.getInputStream());
+        });
+
+        assertThat(seen.get().getContentAsByteArray()).hasSize(4);
+        assertThat(seen.get().isContentTruncated()).isTrue();
+    }
+
+    @Test
+    void boundedCaptureRoutesKeepOnlyThePrefix() throws ServletException, IOException {
+        filter.boundedCaptureAntPathMatch("/api/users/batch").maxRequest(4);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/batch");
+        request.setContent("[{ \"name\" : \"sample\" }]".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new EchoServlet()));
+
+        assertThat(response.getContentAsString()).isEqualTo("[{ \"name\" : \"sample\" }]");
+        assertThat(appender.list.get(0).getFormattedMessage()).startsWith("REQUEST POST").doesNotContain("sample");
+    }
+
+    @Test
+    void ignoredRoutesAreNeitherWrappedNorLogged() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void asyncResponseIsLoggedWhenProcessingCompletes() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<AsyncContext> async = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> async.set(req.startAsync(req, res)));
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).singleElement().asString().startsWith("REQUEST GET");
+
+        async.get().getResponse().setContentType(MediaType.APPLICATION_JSON_VALUE);
+        async.get().getResponse().getWriter().write("[]");
+        async.get().getResponse().flushBuffer();
+        async.get().complete();
+
+        assertThat(appender.list).hasSize(2);
+        assertThat(appender.list.get(1).getFormattedMessage()).startsWith("RESPONSE 200").contains("body:[]");
+    }
+
+    private static class EchoServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            StreamUtils.copy(request.getInputStream(), response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayServletInputStreamTest {
+
+    @Test
+    void readsThePrefixBeforeTheOriginalStream() throws IOException {
+        ReplayServletInputStream stream = replay("abc", "def");
+
+        assertThat(stream.read()).isEqualTo('a');
+        byte[] buffer = new byte[8];
+        assertThat(stream.read(buffer, 0, buffer.length)).isEqualTo(2);
+        assertThat(stream.read(buffer, 0, buffer.length)).isEqualTo(3);
+        assertThat(stream.read()).isEqualTo(-1);
+        assertThat(stream.getCount()).isEqualTo(6);
+        assertThat(stream.isFinished()).isTrue();
+    }
+
+    @Test
+    void reportsThePrefixToTheReadListenerWhenTheOriginalStreamIsDrained() throws IOException {
+        StubServletInputStream original = new StubServletInputStream("");
+        ReplayServletInputStream stream = new ReplayServletInputStream(bytes("abc"), 3, original);
+        CollectingListener listener = new CollectingListener(stream);
+
+        stream.setReadListener(listener);
+        original.listener.onAllDataRead();
+
+        assertThat(listener.content()).isEqualTo("abc");
+        assertThat(listener.allDataRead).isTrue();
+    }
+
+    @Test
+    void forwardsDataAvailableFromTheOriginalStream() throws IOException {
+        StubServletInputStream original = new StubServletInputStream("def");
+        ReplayServletInputStream stream = new ReplayServletInputStream(bytes("abc"), 3, original);
+        CollectingListener listener = new CollectingListener(stream);
+
+        stream.setReadListener(listener);
+        original.listener.onDataAvailable();
+        original.listener.onAllDataRead();
+
+        assertThat(listener.content()).isEqualTo("abcdef");
+        assertThat(listener.allDataRead).isTrue();
+    }
+
+    private static ReplayServletInputStream replay(String prefix, String rest) {
+        return new ReplayServletInputStream(bytes(prefix), prefix.length(), new StubServletInputStream(rest));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class StubServletInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+        private ReadListener listener;
+
+        StubServletInputStream(String content) {
+            this.in = new ByteArrayInputStream(bytes(content));
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !isFinished();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+    }
+
+    private static class CollectingListener implements ReadListener {
+
+        private final ServletInputStream stream;
+        private final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        private boolean allDataRead;
+
+        CollectingListener(ServletInputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            byte[] buffer = new byte[2];
+            while (stream.isReady() && !stream.isFinished()) {
+                int n = stream.read(buffer, 0, buffer.length);
+                if (n > 0) read.write(buffer, 0, n);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            allDataRead = true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        String content() {
+            return new String(read.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeeClientHttpResponseTest {
+
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"sample\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void streamsTheWholeBodyAndKeepsOnlyThePrefix() throws IOException {
+        TeeClientHttpResponse response = new TeeClientHttpResponse(new MockClientHttpResponse(BODY, HttpStatus.OK), 8, r -> {
+        });
+
+        assertThat(StreamUtils.copyToByteArray(response.getBody())).isEqualTo(BODY);
+        assertThat(new String(response.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1,");
+        assertThat(response.isContentTruncated()).isTrue();
+    }
+
+    @Test
+    void capturesOnlyWhatTheCallerRead() throws IOException {
+        TeeClientHttpResponse response = new TeeClientHttpResponse(new MockClientHttpResponse(BODY, HttpStatus.OK), 1024, r -> {
+        });
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getBody().read()).isEqualTo('{');
+        assertThat(response.getContentAsByteArray()).containsExactly('{');
+        assertThat(response.isContentTruncated()).isFalse();
+    }
+
+    @Test
+    void onCloseRunsOnceEvenWhenItFails() {
+        AtomicInteger calls = new AtomicInteger();
+        TeeClientHttpResponse response = new TeeClientHttpResponse(new MockClientHttpResponse(BODY, HttpStatus.OK), 8, r -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        });
+
+        response.close();
+        response.close();
+
+        assertThat(calls).hasValue(1);
+    }
+}
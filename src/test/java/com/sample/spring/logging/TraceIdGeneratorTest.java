@@ -0,0 +1,43 @@
+package com.sample.spring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    void randomIdsUseTheConfiguredLengthAndAlphabet() {
+        TraceIdGenerator generator = TraceIdGenerator.create(TraceIdGenerator.Strategy.RANDOM, 12, null);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++)
+            ids.add(generator.generate());
+
+        assertThat(ids).hasSize(1000).allMatch(id -> id.matches("[0-9A-Z]{12}"));
+    }
+
+    @Test
+    void timeOrderedIdsSortByCreationTime() throws InterruptedException {
+        TraceIdGenerator generator = TraceIdGenerator.create(TraceIdGenerator.Strategy.TIME_ORDERED, 10, null);
+
+        String first = generator.generate();
+        Thread.sleep(2);
+        String second = generator.generate();
+
+        assertThat(first).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]+");
+        assertThat(first.substring(0, 10)).isLessThan(second.substring(0, 10));
+    }
+
+    @Test
+    void nodeIdsStartWithTheNode() {
+        NodeTraceIdGenerator configured = (NodeTraceIdGenerator) TraceIdGenerator.create(TraceIdGenerator.Strategy.NODE, 8, "api1");
+        NodeTraceIdGenerator detected = new NodeTraceIdGenerator(null, 8);
+
+        assertThat(configured.generate()).matches("api1-[0-9A-Z]{8}");
+        assertThat(detected.getNode()).hasSize(4).isEqualTo(NodeTraceIdGenerator.defaultNode());
+    }
+}
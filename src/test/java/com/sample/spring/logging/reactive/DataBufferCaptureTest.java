@@ -0,0 +1,44 @@
+package com.sample.spring.logging.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataBufferCaptureTest {
+
+    private final DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    void keepsThePrefixAcrossBuffersAndCountsTheRest() {
+        DataBufferCapture capture = new DataBufferCapture(5);
+        DataBuffer first = buffer("abc");
+        DataBuffer second = buffer("defgh");
+
+        capture.append(first);
+        capture.append(second);
+
+        assertThat(new String(capture.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("abcde");
+        assertThat(capture.isTruncated()).isTrue();
+        assertThat(capture.getCount()).isEqualTo(8);
+        assertThat(first.readPosition()).isZero();
+        assertThat(second.readableByteCount()).isEqualTo(5);
+    }
+
+    @Test
+    void bodyWithinTheLimitIsNotTruncated() {
+        DataBufferCapture capture = new DataBufferCapture(16);
+
+        capture.append(buffer("abc"));
+
+        assertThat(new String(capture.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("abc");
+        assertThat(capture.isTruncated()).isFalse();
+    }
+
+    private DataBuffer buffer(String value) {
+        return factory.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.sample.spring.logging.reactive;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sample.spring.logging.LoggingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingExchangeFilterFunctionTest {
+
+    private static final String REQUEST_BODY = "{ \"name\" : \"sample\" }";
+    private static final String RESPONSE_BODY = "{ \"id\" : 1 }";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingExchangeFilterFunction.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final LoggingProperties prop = new LoggingProperties();
+
+    LoggingExchangeFilterFunctionTest() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsOneRequestAndOneResponseLineUnderTheInboundTraceId() {
+        AtomicReference<MockClientHttpRequest> sent = new AtomicReference<>();
+
+        String body = new LoggingExchangeFilterFunction(prop).filter(request(), exchange(sent))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .contextWrite(ctx -> ctx.put(ReactiveTraceContext.TRACE_ID, "trace-1"))
+                .block();
+
+        assertThat(body).isEqualTo(RESPONSE_BODY);
+        assertThat(sent.get().getBodyAsString().block()).isEqualTo(REQUEST_BODY);
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).satisfiesExactly(
+                line -> assertThat(line).contains("trace-1", "/api/users", "body:{\"name\":\"sample\"}"),
+                line -> assertThat(line).contains("trace-1", "200", "body:{\"id\":1}"));
+    }
+
+    @Test
+    void capturesOnlyTheConfiguredPrefix() {
+        prop.setMaxRequest(4);
+        prop.setMaxResponse(4);
+        AtomicReference<MockClientHttpRequest> sent = new AtomicReference<>();
+
+        String body = new LoggingExchangeFilterFunction(prop).filter(request(), exchange(sent))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block();
+
+        assertThat(body).isEqualTo(RESPONSE_BODY);
+        assertThat(sent.get().getBodyAsString().block()).isEqualTo(REQUEST_BODY);
+        assertThat(appender.list).hasSize(2).extracting(ILoggingEvent::getFormattedMessage)
+                .allSatisfy(line -> assertThat(line).doesNotContain("sample", "\"id\""));
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://example.org/api/users"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(BodyInserters.fromValue(REQUEST_BODY))
+                .build();
+    }
+
+    /**
+     * writes the request like a connector would and answers with a json body
+     */
+    private static ExchangeFunction exchange(AtomicReference<MockClientHttpRequest> sent) {
+        return request -> {
+            MockClientHttpRequest out = new MockClientHttpRequest(request.method(), request.url());
+            sent.set(out);
+            return request.writeTo(out, ExchangeStrategies.withDefaults())
+                    .then(Mono.fromCallable(() -> ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(RESPONSE_BODY)
+                            .build()));
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.sample.spring.logging.reactive;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sample.spring.logging.LogDispatcher;
+import com.sample.spring.logging.LoggingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveLoggingFilterTest {
+
+    private static final String BODY = "{ \"name\" : \"sample\" }";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("reactive-logging-filter-test");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final LoggingProperties prop = new LoggingProperties();
+
+    ReactiveLoggingFilterTest() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsOneRequestAndOneResponseLineWithTheirBodies() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/users").body(BODY));
+        AtomicReference<String> traceId = new AtomicReference<>();
+
+        filter().filter(exchange, echo(traceId)).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(traceId.get()).isNotEmpty();
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).satisfiesExactly(
+                line -> assertThat(line).startsWith("REQUEST POST").contains(traceId.get(), "/api/users", "body:{\"name\":\"sample\"}"),
+                line -> assertThat(line).startsWith("RESPONSE 200").contains(traceId.get(), "body:{\"name\":\"sample\"}"));
+    }
+
+    @Test
+    void capturesOnlyTheConfiguredPrefix() {
+        prop.setMaxRequest(4);
+        prop.setMaxResponse(4);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/users").body(BODY));
+
+        filter().filter(exchange, echo(new AtomicReference<>())).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(appender.list).hasSize(2).extracting(ILoggingEvent::getFormattedMessage)
+                .allSatisfy(line -> assertThat(line).doesNotContain("sample"));
+    }
+
+    @Test
+    void ignoredRoutesAreNotLogged() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        filter().filter(exchange, ex -> Mono.empty()).block();
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    private ReactiveLoggingFilter filter() {
+        return new ReactiveLoggingFilter(prop).dispatcher(new LogDispatcher(logger, 16, LogDispatcher.OverflowPolicy.BLOCK, 1000));
+    }
+
+    /**
+     * writes the request body back, reading the trace id from the Reactor context on the way
+     */
+    private static WebFilterChain echo(AtomicReference<String> traceId) {
+        return exchange -> ReactiveTraceContext.traceId()
+                .doOnNext(traceId::set)
+                .then(DataBufferUtils.join(exchange.getRequest().getBody()))
+                .flatMap(body -> {
+                    exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    return exchange.getResponse().writeWith(Mono.just(body));
+                });
+    }
+}
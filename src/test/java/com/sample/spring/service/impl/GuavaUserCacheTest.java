@@ -0,0 +1,87 @@
+package com.sample.spring.service.impl;
+
+import com.sample.spring.config.UserProperties;
+import com.sample.spring.dto.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuavaUserCacheTest {
+
+    private final GuavaUserCache cache = new GuavaUserCache(new UserProperties().getCache());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void cachesLoadedUsersAndHandsOutCopies() {
+        UserDto first = cache.get(1L, this::load);
+        first.setUsername("changed");
+        UserDto second = cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getUsername()).isEqualTo("user-1");
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void remembersUnknownIds() {
+        Function<Long, UserDto> missing = id -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        assertThat(cache.get(2L, missing)).isNull();
+        assertThat(cache.get(2L, missing)).isNull();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().getNegativeHits()).isEqualTo(1);
+    }
+
+    @Test
+    void evictDropsCachedAndUnknownEntries() {
+        cache.get(3L, this::load);
+        cache.get(4L, id -> null);
+
+        cache.evict(3L);
+        cache.evict(4L);
+        cache.get(3L, this::load);
+        assertThat(cache.get(4L, this::load)).isNotNull();
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void loadRacingWithAnEvictionIsNotCached() {
+        UserDto user = cache.get(5L, id -> {
+            UserDto loaded = load(id);
+            cache.evict(id);
+            return loaded;
+        });
+        cache.get(5L, this::load);
+
+        assertThat(user).isNotNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        cache.get(6L, this::load);
+        cache.get(7L, id -> null);
+
+        cache.clear();
+
+        assertThat(cache.stats().getSize()).isZero();
+        assertThat(cache.get(7L, this::load)).isNotNull();
+    }
+
+    private UserDto load(Long id) {
+        loads.incrementAndGet();
+        UserDto user = new UserDto();
+        user.setUsername("user-" + id);
+        return user;
+    }
+}
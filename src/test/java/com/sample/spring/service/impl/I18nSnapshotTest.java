@@ -0,0 +1,58 @@
+package com.sample.spring.service.impl;
+
+import com.sample.spring.dto.I18nKey;
+import com.sample.spring.entity.I18nEntity;
+import com.sample.spring.repository.I18nRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class I18nSnapshotTest {
+
+    @Test
+    void firstRowWinsForADuplicateKey() {
+        I18nSnapshot snapshot = I18nSnapshot.of(Arrays.asList(entity("greeting", "hello"), entity("greeting", "hi")), version(2, 1000));
+
+        assertThat(snapshot.isLoaded()).isTrue();
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.get(new I18nKey("greeting", "label", "en"))).isEqualTo("hello");
+        assertThat(snapshot.get(new I18nKey("greeting", "label", "km"))).isNull();
+    }
+
+    @Test
+    void versionChangesWithCountOrLastModified() {
+        I18nSnapshot snapshot = I18nSnapshot.of(Arrays.asList(entity("greeting", "hello")), version(1, 1000));
+
+        assertThat(snapshot.isSameVersion(version(1, 1000))).isTrue();
+        assertThat(snapshot.isSameVersion(version(2, 1000))).isFalse();
+        assertThat(snapshot.isSameVersion(version(1, 2000))).isFalse();
+        assertThat(snapshot.isSameVersion(null)).isFalse();
+        assertThat(I18nSnapshot.EMPTY.isLoaded()).isFalse();
+    }
+
+    private static I18nEntity entity(String key, String message) {
+        I18nEntity entity = new I18nEntity();
+        entity.setKey(key);
+        entity.setType("label");
+        entity.setLocale("en");
+        entity.setMessage(message);
+        return entity;
+    }
+
+    private static I18nRepository.Version version(long count, long lastModified) {
+        return new I18nRepository.Version() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public Date getLastModified() {
+                return new Date(lastModified);
+            }
+        };
+    }
+}
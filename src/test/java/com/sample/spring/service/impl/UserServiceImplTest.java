@@ -0,0 +1,158 @@
+package com.sample.spring.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.spring.config.UserProperties;
+import com.sample.spring.conts.BizErrorCode;
+import com.sample.spring.dto.UserBatchResultDto;
+import com.sample.spring.dto.UserDto;
+import com.sample.spring.entity.UserEntity;
+import com.sample.spring.exception.BizException;
+import com.sample.spring.repository.UserRepository;
+import com.sample.spring.util.CursorUtil;
+import com.sample.spring.web.vo.request.RequestCursorVO;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final UserServiceImpl service = new UserServiceImpl(repository, null, null, null, null, null, null, null, null);
+
+    @Test
+    void cursorContinuesAfterTheEncodedId() {
+        UserEntity entity = new UserEntity();
+        entity.setId(43L);
+        entity.setUsername("sample");
+        when(repository.findByStatusAndIdGreaterThanOrderByIdAsc(eq("ACTIVE"), eq(42L), any()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(entity), PageRequest.ofSize(1), true));
+
+        Slice<UserDto> slice = service.findByUsers(new RequestCursorVO(CursorUtil.encode(42L), 1));
+
+        assertThat(slice.getContent()).extracting(UserDto::getUsername).containsExactly("sample");
+        assertThat(slice.hasNext()).isTrue();
+        verify(repository).findByStatusAndIdGreaterThanOrderByIdAsc("ACTIVE", 42L, PageRequest.ofSize(1));
+    }
+
+    @Test
+    void badCursorIsABusinessError() {
+        assertThatThrownBy(() -> service.findByUsers(new RequestCursorVO("bm90LWEtY3Vyc29y", 10)))
+                .isInstanceOf(BizException.class)
+                .extracting(e -> ((BizException) e).getError())
+                .isEqualTo(BizErrorCode.E0005);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void exportStreamsDetachedUsersAndClosesTheCursor() {
+        EntityManager entityManager = mock(EntityManager.class);
+        UserEntity first = new UserEntity();
+        first.setUsername("a");
+        UserEntity second = new UserEntity();
+        second.setUsername("b");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamByStatus("ACTIVE")).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        UserServiceImpl service = new UserServiceImpl(repository, null, null, entityManager, null, null, null, null, null);
+
+        List<String> exported = new ArrayList<>();
+        service.exportUsers(user -> exported.add(user.getUsername()));
+
+        assertThat(exported).containsExactly("a", "b");
+        assertThat(closed).isTrue();
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void importReportsEveryElementInOrder() {
+        EntityManager entityManager = mock(EntityManager.class);
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<UserEntity>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(UserEntity.class));
+        UserServiceImpl service = importService(entityManager, 2, 4);
+
+        UserBatchResultDto result = service.importUsers(json("["
+                + "{\"username\":\"a\",\"password\":\"p\",\"createData\":\"x\"},"
+                + "{\"username\":\"b\"},"
+                + "\"not a user\","
+                + "{\"username\":\"c\",\"password\":\"p\",\"createData\":\"x\"},"
+                + "{\"username\":\"d\",\"password\":\"p\",\"createData\":\"x\"}]"));
+
+        assertThat(result.getItems()).extracting(UserBatchResultDto.Item::getStatus).containsExactly(
+                UserBatchResultDto.CREATED, UserBatchResultDto.INVALID, UserBatchResultDto.INVALID,
+                UserBatchResultDto.CREATED, UserBatchResultDto.REJECTED);
+        assertThat(result.getItems().get(0).getId()).isEqualTo("101");
+        assertThat(result.getItems().get(1).getErrors()).isNotEmpty();
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        verify(entityManager, times(2)).persist(any(UserEntity.class));
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void importStopsReadingAtTheLimit() {
+        UserServiceImpl service = importService(mock(EntityManager.class), 2, 1);
+
+        UserBatchResultDto result = service.importUsers(json("[\"x\", \"y\", \"z\", \"w\", {\"username\":"));
+
+        assertThat(result.getItems()).extracting(UserBatchResultDto.Item::getStatus)
+                .containsExactly(UserBatchResultDto.INVALID, UserBatchResultDto.REJECTED);
+        assertThat(result.getItems().get(1).getIndex()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getErrors()).singleElement().asString().contains("limit of 1 items");
+    }
+
+    @Test
+    void importRejectsAPayloadThatIsNotAnArray() {
+        UserServiceImpl service = importService(mock(EntityManager.class), 2, 10);
+
+        assertThatThrownBy(() -> service.importUsers(json("{\"username\":\"a\"}")))
+                .isInstanceOf(BizException.class)
+                .extracting(e -> ((BizException) e).getError())
+                .isEqualTo(BizErrorCode.E0006);
+    }
+
+    private UserServiceImpl importService(EntityManager entityManager, int chunkSize, int maxItems) {
+        UserProperties properties = new UserProperties();
+        properties.getBatch().setChunkSize(chunkSize);
+        properties.getBatch().setMaxItems(maxItems);
+        Validator validator = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory().getValidator();
+        return new UserServiceImpl(repository, null, null, entityManager, new ObjectMapper(), validator,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties, new NoOpUserCache());
+    }
+
+    private static InputStream json(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
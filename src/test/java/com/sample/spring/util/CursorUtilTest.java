@@ -0,0 +1,38 @@
+package com.sample.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorUtilTest {
+
+    @Test
+    void roundTrip() {
+        for (long id : new long[]{1L, 42L, Long.MAX_VALUE}) {
+            String cursor = CursorUtil.encode(id);
+            assertThat(cursor).doesNotContain("=", "+", "/");
+            assertThat(CursorUtil.decode(cursor)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void emptyCursorStartsAtTheFirstPage() {
+        assertThat(CursorUtil.decode(null)).isZero();
+        assertThat(CursorUtil.decode(" ")).isZero();
+    }
+
+    @Test
+    void rejectsForeignCursors() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorUtil.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorUtil.decode(encode("42")));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorUtil.decode(encode("v1:abc")));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}